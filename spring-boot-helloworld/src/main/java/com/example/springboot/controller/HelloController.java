@@ -1,14 +1,70 @@
 package com.example.springboot.controller;
 
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class HelloController {
 
+    private static final String GREETING = "Hello, World!";
+
+    private final boolean fastPath;
+
+    private final String etag;
+
+    private final ResponseEntity<byte[]> ok;
+
+    private final ResponseEntity<byte[]> notModified;
+
+    public HelloController(@Value("${hello.fast-path:false}") boolean fastPath) {
+        this.fastPath = fastPath;
+
+        // Encode once; every fast-path request reuses the same body, headers and entity.
+        byte[] body = GREETING.getBytes(StandardCharsets.UTF_8);
+        this.etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+        headers.setContentLength(body.length);
+        headers.setETag(etag);
+        this.ok = new ResponseEntity<>(body, HttpHeaders.readOnlyHttpHeaders(headers), HttpStatus.OK);
+
+        HttpHeaders notModifiedHeaders = new HttpHeaders();
+        notModifiedHeaders.setETag(etag);
+        this.notModified = new ResponseEntity<>(HttpHeaders.readOnlyHttpHeaders(notModifiedHeaders), HttpStatus.NOT_MODIFIED);
+    }
+
     @GetMapping("/")
-    public String index() {
-        return "Hello, World!";
+    public ResponseEntity<?> index(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (!fastPath) {
+            return ResponseEntity.ok(GREETING);
+        }
+        return matches(ifNoneMatch) ? notModified : ok;
+    }
+
+    private boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
 }
@@ -0,0 +1,38 @@
+package com.example.springboot;
+
+import com.example.springboot.controller.HelloController;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+public class HelloControllerFastPathWebTestClientTest {
+
+    @Test
+    public void fastPathServesConditionalGet() {
+        WebTestClient webTestClient = WebTestClient.bindToController(new HelloController(true)).build();
+
+        String etag = webTestClient.get().uri("/")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentLength(13)
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody(String.class).isEqualTo("Hello, World!")
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get().uri("/")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody().isEmpty();
+
+        webTestClient.get().uri("/")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"other\"")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.Application;
+import com.example.springboot.controller.HelloController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the hello endpoint with and without the fast path. The benchmark profile runs JMH with the
+ * gc profiler, so {@code gc.alloc.rate.norm} gives the bytes allocated per request for each variant.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HelloControllerBenchmark {
+
+    @Param({"false", "true"})
+    private boolean fastPath;
+
+    private HelloController helloController;
+
+    private MockMvc mockMvc;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private HttpRequest httpRequest;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        helloController = new HelloController(fastPath);
+        mockMvc = MockMvcBuilders.standaloneSetup(helloController).build();
+
+        // Command-line arguments outrank config/application.yaml, which pins port 8080 and the slow path
+        context = new SpringApplication(Application.class).run("--server.port=0", "--hello.fast-path=" + fastPath);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newHttpClient();
+        httpRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/")).GET().build();
+
+        // Only the fast path sets an ETag, so this shows which mode the running application picked
+        HttpResponse<byte[]> response = embeddedServer();
+        if (response.headers().firstValue(HttpHeaders.ETAG).isPresent() != fastPath) {
+            throw new IllegalStateException("Embedded server is not running with hello.fast-path=" + fastPath);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object index() {
+        return helloController.index(null);
+    }
+
+    @Benchmark
+    public MvcResult mockMvc() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/")).andReturn();
+    }
+
+    @Benchmark
+    public HttpResponse<byte[]> embeddedServer() throws IOException, InterruptedException {
+        return httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+}
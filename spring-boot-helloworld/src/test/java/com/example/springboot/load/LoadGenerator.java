@@ -0,0 +1,122 @@
+package com.example.springboot.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator used to compare the servlet and WebFlux builds side by side.
+ * Start each build on its own port, then run:
+ * <pre>
+ * mvn -Pload test -Dload.targets=servlet=http://localhost:8080/,webflux=http://localhost:8081/
+ * </pre>
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, URI> targets = parseTargets(System.getProperty("load.targets", "local=http://localhost:8080/"));
+        int concurrency = Integer.getInteger("load.concurrency", 64);
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30));
+
+        System.out.printf("%-12s %12s %10s %10s %10s %8s%n", "target", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Map.Entry<String, URI> target : targets.entrySet()) {
+            run(target.getValue(), concurrency, warmup);
+            Result result = run(target.getValue(), concurrency, duration);
+            System.out.printf("%-12s %12.0f %10.2f %10.2f %10.2f %8d%n", target.getKey(),
+                    result.throughput(duration), result.percentile(50), result.percentile(99),
+                    result.percentile(100), result.errors);
+        }
+    }
+
+    private static Result run(URI uri, int concurrency, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<long[]> latencies = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            long[][] samples = {new long[1 << 16]};
+            int[] count = {0};
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count[0] == samples[0].length) {
+                            samples[0] = Arrays.copyOf(samples[0], count[0] * 2);
+                        }
+                        samples[0][count[0]++] = System.nanoTime() - start;
+                    }
+                } finally {
+                    synchronized (latencies) {
+                        latencies.add(Arrays.copyOf(samples[0], count[0]));
+                    }
+                    done.countDown();
+                }
+            }, "load-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+        return new Result(latencies, errors.get());
+    }
+
+    private static Map<String, URI> parseTargets(String spec) {
+        Map<String, URI> targets = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected name=url but got: " + entry);
+            }
+            targets.put(entry.substring(0, eq).trim(), URI.create(entry.substring(eq + 1).trim()));
+        }
+        return targets;
+    }
+
+    private static final class Result {
+
+        private final long[] latencies;
+        private final long errors;
+
+        Result(List<long[]> samples, long errors) {
+            this.latencies = samples.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            this.errors = errors;
+        }
+
+        double throughput(Duration duration) {
+            return latencies.length / (duration.toNanos() / 1e9);
+        }
+
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1e6;
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.example.springboot.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start benchmark for the packaged applications. For every target it starts the repackaged jar,
+ * the exploded classpath and the exploded classpath with an AppCDS archive, and reports the median
+ * time-to-first-request and resident set size over several runs. Package both modules first, then:
+ * <pre>
+ * mvn -Pstartup verify [-Dstartup.runs=5] [-Dstartup.profiles=prod]
+ * </pre>
+ * Targets are given as {@code name=moduleDir|url,...}; the module directory is also the working
+ * directory so that its {@code config/} files are picked up.
+ */
+public class StartupBenchmark {
+
+    private static final long TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String[]> targets = parseTargets(System.getProperty("startup.targets",
+                "helloworld=.|http://localhost:8080/,quartz=../spring-boot-quartz|http://localhost:8080/scheduler/jobs"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        String profiles = System.getProperty("startup.profiles", "prod");
+        boolean cdsSupported = Runtime.version().feature() >= 13;
+
+        System.out.printf("%-12s %-10s %14s %10s%n", "target", "mode", "first req ms", "RSS MB");
+        for (Map.Entry<String, String[]> target : targets.entrySet()) {
+            Path moduleDir = Paths.get(target.getValue()[0]).toAbsolutePath().normalize();
+            URL url = new URL(target.getValue()[1]);
+            Path jar = findJar(moduleDir.resolve("target"));
+            Path workDir = moduleDir.resolve("target").resolve("startup");
+            List<String> exploded = explode(jar, workDir.resolve("exploded"));
+            List<String> appArgs = Collections.singletonList("--spring.profiles.active=" + profiles);
+
+            report(target.getKey(), "jar", runs, moduleDir, url,
+                    command(Collections.emptyList(), Arrays.asList("-jar", jar.toString()), appArgs));
+            report(target.getKey(), "exploded", runs, moduleDir, url,
+                    command(Collections.emptyList(), exploded, appArgs));
+
+            if (!cdsSupported) {
+                System.out.printf("%-12s %-10s %s%n", target.getKey(), "cds", "skipped, needs JDK 13+");
+                continue;
+            }
+            Path archive = workDir.resolve("app.jsa");
+            Files.deleteIfExists(archive);
+            measure(moduleDir, url, command(Collections.singletonList("-XX:ArchiveClassesAtExit=" + archive), exploded, appArgs));
+            report(target.getKey(), "cds", runs, moduleDir, url,
+                    command(Collections.singletonList("-XX:SharedArchiveFile=" + archive), exploded, appArgs));
+        }
+    }
+
+    private static void report(String name, String mode, int runs, Path moduleDir, URL url, List<String> command)
+            throws Exception {
+        long[] millis = new long[runs];
+        long[] rss = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long[] sample = measure(moduleDir, url, command);
+            millis[i] = sample[0];
+            rss[i] = sample[1];
+        }
+        Arrays.sort(millis);
+        Arrays.sort(rss);
+        System.out.printf("%-12s %-10s %14d %10.1f%n", name, mode, millis[runs / 2], rss[runs / 2] / 1024.0);
+    }
+
+    /**
+     * Starts the process, polls until the first HTTP response and samples VmRSS at that moment.
+     * The process is then stopped with SIGTERM so that a dynamic CDS archive is written on exit.
+     */
+    private static long[] measure(Path moduleDir, URL url, List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command)
+                .directory(moduleDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(moduleDir.resolve("target").resolve("startup").resolve("last-run.log").toFile())
+                .start();
+        long start = System.nanoTime();
+        try {
+            while (!respond(url)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Process exited with " + process.exitValue() + ": " + command);
+                }
+                if (System.nanoTime() - start > TIMEOUT_NANOS) {
+                    throw new IllegalStateException("No response from " + url + " within timeout");
+                }
+                Thread.sleep(5);
+            }
+            long firstRequest = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new long[]{firstRequest, residentSetKb(process.pid())};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean respond(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(100);
+            connection.setReadTimeout(5_000);
+            int status = connection.getResponseCode();
+            try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (body != null) {
+                    body.readAllBytes();
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static long residentSetKb(long pid) throws IOException {
+        Path status = Paths.get("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> command(List<String> jvmArgs, List<String> launch, List<String> appArgs) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(launch);
+        command.addAll(appArgs);
+        return command;
+    }
+
+    private static Path findJar(Path target) throws IOException {
+        try (Stream<Path> files = Files.list(target)) {
+            return files.filter(file -> file.toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No packaged jar in " + target + ", run mvn package first"));
+        }
+    }
+
+    /**
+     * Unpacks the repackaged jar and returns the launch arguments for a plain classpath, which CDS
+     * requires because classes loaded from nested jars cannot be archived.
+     */
+    private static List<String> explode(Path jar, Path dir) throws IOException {
+        String mainClass;
+        List<String> classpath = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            mainClass = jarFile.getManifest().getMainAttributes().getValue("Start-Class");
+            for (JarEntry entry : Collections.list(jarFile.entries())) {
+                Path out = dir.resolve(entry.getName()).normalize();
+                if (!out.startsWith(dir)) {
+                    throw new IOException("Bad entry " + entry.getName());
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(out);
+                } else {
+                    Files.createDirectories(out.getParent());
+                    try (InputStream in = jarFile.getInputStream(entry)) {
+                        Files.copy(in, out, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+        }
+        classpath.add(dir.resolve("BOOT-INF/classes").toString());
+        Path index = dir.resolve("BOOT-INF/classpath.idx");
+        if (Files.exists(index)) {
+            for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                String lib = line.replaceFirst("^- ", "").replace("\"", "").trim();
+                if (!lib.isEmpty()) {
+                    classpath.add(dir.resolve(lib).toString());
+                }
+            }
+        } else {
+            try (Stream<Path> libs = Files.list(dir.resolve("BOOT-INF/lib"))) {
+                classpath.addAll(libs.map(Path::toString).sorted().collect(Collectors.toList()));
+            }
+        }
+        return Arrays.asList("-cp", String.join(File.pathSeparator, classpath), mainClass);
+    }
+
+    private static Map<String, String[]> parseTargets(String spec) {
+        Map<String, String[]> targets = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            int eq = entry.indexOf('=');
+            String[] parts = eq > 0 ? entry.substring(eq + 1).split("\\|") : new String[0];
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected name=moduleDir|url but got: " + entry);
+            }
+            targets.put(entry.substring(0, eq).trim(), new String[]{parts[0].trim(), parts[1].trim()});
+        }
+        return targets;
+    }
+
+}
@@ -0,0 +1,240 @@
+package com.example.springboot.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerKey;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides for every fired trigger whether its job may start. With coalescing enabled, a fire of a job
+ * that is still running on this node is folded into a single pending run, which starts once the running
+ * execution ends. Job starts are also limited by a global and optional per-group token bucket; a
+ * repeating trigger that finds no token is skipped until its next fire, while a last fire always runs.
+ * The pending run reserves its token up front and is delayed until the reservation is due, so catching
+ * up never exceeds the rate limit.
+ */
+@Slf4j
+@Component
+public class DispatchThrottle {
+
+    public static final String COALESCE_KEY = "dispatch.coalesce";
+
+    /**
+     * Group of the triggers that start coalesced runs. They belong to the throttle, not to the job's
+     * schedule, and are marked with {@link #isReserved(Trigger)} in their trigger data.
+     */
+    public static final String RESERVED_GROUP = "dispatch.reserved";
+
+    private static final String RESERVED_KEY = "dispatch.reserved";
+
+    private static final String DECISION_KEY = DispatchThrottle.class.getName() + ".decision";
+
+    private final boolean coalesce;
+
+    private final TokenBucket globalBucket;
+
+    private final Map<String, TokenBucket> groupBuckets = new HashMap<>();
+
+    private final Map<JobKey, JobDispatch> jobs = new ConcurrentHashMap<>();
+
+    public DispatchThrottle(SchedulerProperties schedulerProperties) {
+        SchedulerProperties.Dispatch dispatch = schedulerProperties.getDispatch();
+        this.coalesce = dispatch.isCoalesce();
+        this.globalBucket = dispatch.getMaxStartsPerSecond() > 0
+                ? new TokenBucket(dispatch.getMaxStartsPerSecond(), dispatch.getBurst())
+                : null;
+        // A group may start one second's worth of jobs at once
+        dispatch.getGroupMaxStartsPerSecond().forEach((group, rate) -> {
+            if (rate > 0) {
+                groupBuckets.put(group, new TokenBucket(rate, (int) Math.ceil(rate)));
+            }
+        });
+    }
+
+    /**
+     * Decides whether a fired job may start. The decision is kept on the context; every {@link Decision#RUN}
+     * must be paired with one {@link #release(JobExecutionContext)} once the job has run or was vetoed.
+     */
+    public Decision acquire(Trigger trigger, JobExecutionContext context) {
+        boolean coalesceJob = coalesce(context.getMergedJobDataMap());
+        if (!coalesceJob && globalBucket == null && groupBuckets.isEmpty()) {
+            // Nothing to track: without a decision on the context the release is a no-op
+            return Decision.RUN;
+        }
+
+        Decision decision = decide(trigger, coalesceJob);
+        context.put(DECISION_KEY, decision);
+        return decision;
+    }
+
+    public Decision decision(JobExecutionContext context) {
+        Object decision = context.get(DECISION_KEY);
+        return decision instanceof Decision ? (Decision) decision : Decision.RUN;
+    }
+
+    private Decision decide(Trigger trigger, boolean coalesceJob) {
+        JobKey jobKey = trigger.getJobKey();
+        Decision[] decision = new Decision[1];
+        jobs.compute(jobKey, (key, job) -> {
+            if (job == null) {
+                job = new JobDispatch();
+            }
+            if (coalesceJob && job.running > 0) {
+                job.pending = true;
+                decision[0] = Decision.COALESCED;
+                return job;
+            }
+            if (!isReserved(trigger) && !tryAcquireToken(jobKey.getGroup()) && trigger.mayFireAgain()) {
+                decision[0] = Decision.SKIPPED;
+                return job.running == 0 && !job.pending ? null : job;
+            }
+            job.running++;
+            decision[0] = Decision.RUN;
+            return job;
+        });
+        return decision[0];
+    }
+
+    public void release(JobExecutionContext context) {
+        if (context.get(DECISION_KEY) != Decision.RUN) {
+            return;
+        }
+        context.put(DECISION_KEY, null);
+
+        JobKey jobKey = context.getJobDetail().getKey();
+        boolean[] runPending = new boolean[1];
+        jobs.computeIfPresent(jobKey, (key, job) -> {
+            job.running--;
+            if (job.pending && job.running == 0) {
+                job.pending = false;
+                runPending[0] = true;
+            }
+            return job.running <= 0 && !job.pending ? null : job;
+        });
+
+        if (runPending[0]) {
+            long delayNanos = reserveToken(jobKey.getGroup());
+            Trigger catchUp = TriggerBuilder.newTrigger()
+                    .withIdentity(TriggerKey.triggerKey(jobKey.getGroup() + "." + jobKey.getName() + "." + UUID.randomUUID(), RESERVED_GROUP))
+                    .forJob(jobKey)
+                    .usingJobData(RESERVED_KEY, Boolean.TRUE.toString())
+                    .startAt(new Date(System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(delayNanos)))
+                    .build();
+            try {
+                context.getScheduler().scheduleJob(catchUp);
+            } catch (SchedulerException e) {
+                log.warn("Could not start the coalesced run of {}: {}", jobKey, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Whether the trigger starts a coalesced run rather than being one of the job's own triggers.
+     */
+    public static boolean isReserved(Trigger trigger) {
+        return trigger.getJobDataMap().containsKey(RESERVED_KEY);
+    }
+
+    private boolean coalesce(JobDataMap jobDataMap) {
+        return jobDataMap.containsKey(COALESCE_KEY) ? jobDataMap.getBooleanValue(COALESCE_KEY) : coalesce;
+    }
+
+    private boolean tryAcquireToken(String group) {
+        TokenBucket groupBucket = groupBuckets.get(group);
+        if (groupBucket != null && !groupBucket.tryAcquire()) {
+            return false;
+        }
+        if (globalBucket != null && !globalBucket.tryAcquire()) {
+            if (groupBucket != null) {
+                groupBucket.refund();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private long reserveToken(String group) {
+        TokenBucket groupBucket = groupBuckets.get(group);
+        long delayNanos = groupBucket == null ? 0 : groupBucket.reserve();
+        if (globalBucket != null) {
+            delayNanos = Math.max(delayNanos, globalBucket.reserve());
+        }
+        return delayNanos;
+    }
+
+    public enum Decision {
+
+        RUN,
+        COALESCED,
+        SKIPPED
+
+    }
+
+    private static class JobDispatch {
+
+        private int running;
+
+        private boolean pending;
+
+    }
+
+    private static class TokenBucket {
+
+        private final double tokensPerNano;
+
+        private final double capacity;
+
+        private double tokens;
+
+        private long refilledAt = System.nanoTime();
+
+        private TokenBucket(double tokensPerSecond, int capacity) {
+            this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+            this.capacity = Math.max(1, capacity);
+            this.tokens = this.capacity;
+        }
+
+        private synchronized boolean tryAcquire() {
+            refill();
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        /**
+         * Takes a token even if none is left and returns how long to wait until it would have been
+         * available. Later callers pay off the debt before they get a token again.
+         */
+        private synchronized long reserve() {
+            refill();
+            tokens--;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+
+        private synchronized void refund() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.example.springboot.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared fork-join pool for partitioned jobs. Wrapped rather than exposed as an {@code Executor} bean so
+ * that it is not picked up as the application's default task executor.
+ */
+@Component
+public class PartitionPool implements DisposableBean {
+
+    @Getter
+    private final ForkJoinPool forkJoinPool;
+
+    public PartitionPool(SchedulerProperties schedulerProperties) {
+        int parallelism = schedulerProperties.getPartition().getParallelism();
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        // Bounded: no compensation threads beyond the configured parallelism
+        this.forkJoinPool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+                0, parallelism, 1, null, 60, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        forkJoinPool.shutdown();
+        forkJoinPool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+}
@@ -1,14 +1,27 @@
 package com.example.springboot.config;
 
+import com.example.springboot.event.JobEventPublisher;
+import com.example.springboot.event.JobEventType;
+import com.example.springboot.job.PartitionedJob;
+import com.example.springboot.metrics.QuartzMetrics;
+import com.example.springboot.metrics.SchedulerDiagnostics;
+import com.example.springboot.service.FireTimeIndex;
+import com.example.springboot.service.JobExecutionHistory;
+import com.example.springboot.service.JobListCache;
 import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobDetail;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.quartz.JobKey;
 import org.quartz.JobListener;
 import org.quartz.Trigger;
+import org.quartz.TriggerKey;
 import org.quartz.TriggerListener;
+import org.quartz.listeners.SchedulerListenerSupport;
 import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.autoconfigure.quartz.JobStoreType;
 import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -17,7 +30,10 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import org.springframework.scheduling.quartz.SpringBeanJobFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.sql.DataSource;
+import java.util.Date;
 import java.util.Properties;
 
 @Slf4j
@@ -28,17 +44,22 @@ public class QuartzConfig {
 
     private final GlobalJobListener globalJobListener;
 
+    private final GlobalSchedulerListener globalSchedulerListener;
+
     private final QuartzProperties quartzProperties;
 
-    public QuartzConfig(GlobalTriggerListener globalTriggerListener, GlobalJobListener globalJobListener, QuartzProperties quartzProperties) {
+    public QuartzConfig(GlobalTriggerListener globalTriggerListener, GlobalJobListener globalJobListener, GlobalSchedulerListener globalSchedulerListener, QuartzProperties quartzProperties) {
         this.globalTriggerListener = globalTriggerListener;
         this.globalJobListener = globalJobListener;
+        this.globalSchedulerListener = globalSchedulerListener;
         this.quartzProperties = quartzProperties;
     }
 
     @Bean
-    public SchedulerFactoryBean schedulerFactoryBean(ApplicationContext applicationContext) {
+    public SchedulerFactoryBean schedulerFactoryBean(ApplicationContext applicationContext, ObjectProvider<DataSource> dataSource,
+                                                     ObjectProvider<PlatformTransactionManager> transactionManager) {
         SchedulerFactoryBean schedulerFactoryBean = new SchedulerFactoryBean();
+        schedulerFactoryBean.setSchedulerName(quartzProperties.getSchedulerName());
 
         AutowiringSpringBeanJobFactory jobFactory = new AutowiringSpringBeanJobFactory();
         jobFactory.setApplicationContext(applicationContext);
@@ -46,11 +67,17 @@ public class QuartzConfig {
 
         schedulerFactoryBean.setApplicationContext(applicationContext);
 
+        if (quartzProperties.getJobStoreType() == JobStoreType.JDBC) {
+            schedulerFactoryBean.setDataSource(dataSource.getObject());
+            schedulerFactoryBean.setTransactionManager(transactionManager.getIfUnique());
+        }
+
         Properties properties = new Properties();
         properties.putAll(quartzProperties.getProperties());
 
         schedulerFactoryBean.setGlobalTriggerListeners(globalTriggerListener);
         schedulerFactoryBean.setGlobalJobListeners(globalJobListener);
+        schedulerFactoryBean.setSchedulerListeners(globalSchedulerListener);
         schedulerFactoryBean.setOverwriteExistingJobs(true);
         schedulerFactoryBean.setQuartzProperties(properties);
         schedulerFactoryBean.setWaitForJobsToCompleteOnShutdown(true);
@@ -80,6 +107,25 @@ public class QuartzConfig {
     @Component
     public static class GlobalJobListener implements JobListener {
 
+        private final QuartzMetrics quartzMetrics;
+
+        private final JobEventPublisher jobEventPublisher;
+
+        private final JobListCache jobListCache;
+
+        private final JobExecutionHistory jobExecutionHistory;
+
+        private final DispatchThrottle dispatchThrottle;
+
+        public GlobalJobListener(QuartzMetrics quartzMetrics, JobEventPublisher jobEventPublisher, JobListCache jobListCache,
+                                 JobExecutionHistory jobExecutionHistory, DispatchThrottle dispatchThrottle) {
+            this.quartzMetrics = quartzMetrics;
+            this.jobEventPublisher = jobEventPublisher;
+            this.jobListCache = jobListCache;
+            this.jobExecutionHistory = jobExecutionHistory;
+            this.dispatchThrottle = dispatchThrottle;
+        }
+
         @Override
         public String getName() {
             return getClass().getSimpleName();
@@ -87,20 +133,46 @@ public class QuartzConfig {
 
         @Override
         public void jobToBeExecuted(JobExecutionContext context) {
-            JobKey jobKey = context.getJobDetail().getKey();
-            log.info("jobToBeExecuted     : {}", jobKey);
+            quartzMetrics.jobToBeExecuted();
+            jobListCache.jobStarted(context.getJobDetail().getKey());
         }
 
         @Override
         public void jobExecutionVetoed(JobExecutionContext context) {
             JobKey jobKey = context.getJobDetail().getKey();
-            log.info("jobExecutionVetoed  : {}", jobKey);
+            quartzMetrics.jobVetoed(jobKey);
+            jobListCache.markStale(jobKey);
+            dispatchThrottle.release(context);
+            jobEventPublisher.publish(JobEventType.VETOED, jobKey, 0, null);
         }
 
         @Override
         public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
             JobKey jobKey = context.getJobDetail().getKey();
-            log.info("jobWasExecuted      : {}", jobKey);
+            quartzMetrics.jobWasExecuted(context, jobException != null);
+            if (context.getResult() instanceof PartitionedJob.Result) {
+                quartzMetrics.partitionsExecuted(jobKey, (PartitionedJob.Result) context.getResult());
+            }
+            jobListCache.jobFinished(jobKey);
+            dispatchThrottle.release(context);
+            recordHistory(context, jobException);
+            jobEventPublisher.publish(JobEventType.COMPLETED, jobKey, context.getJobRunTime(), jobException == null ? null : jobException.getClass().getName());
+        }
+
+        private void recordHistory(JobExecutionContext context, JobExecutionException jobException) {
+            JobExecutionHistory.Outcome outcome = JobExecutionHistory.Outcome.SUCCESS;
+            String exception = null;
+            if (jobException != null) {
+                outcome = JobExecutionHistory.Outcome.FAILED;
+                Throwable cause = jobException.getCause() != null ? jobException.getCause() : jobException;
+                exception = cause.getClass().getName();
+            } else if ("INTERRUPTED".equals(context.getResult())
+                    || context.getResult() instanceof PartitionedJob.Result && ((PartitionedJob.Result) context.getResult()).isCancelled()) {
+                outcome = JobExecutionHistory.Outcome.INTERRUPTED;
+            }
+
+            long duration = Math.max(0, context.getJobRunTime());
+            jobExecutionHistory.record(context.getJobDetail().getKey(), System.currentTimeMillis() - duration, duration, outcome, exception);
         }
 
     }
@@ -108,6 +180,28 @@ public class QuartzConfig {
     @Component
     public static class GlobalTriggerListener implements TriggerListener {
 
+        private final QuartzMetrics quartzMetrics;
+
+        private final JobEventPublisher jobEventPublisher;
+
+        private final FireTimeIndex fireTimeIndex;
+
+        private final JobListCache jobListCache;
+
+        private final SchedulerDiagnostics schedulerDiagnostics;
+
+        private final DispatchThrottle dispatchThrottle;
+
+        public GlobalTriggerListener(QuartzMetrics quartzMetrics, JobEventPublisher jobEventPublisher, FireTimeIndex fireTimeIndex, JobListCache jobListCache,
+                                     SchedulerDiagnostics schedulerDiagnostics, DispatchThrottle dispatchThrottle) {
+            this.quartzMetrics = quartzMetrics;
+            this.jobEventPublisher = jobEventPublisher;
+            this.fireTimeIndex = fireTimeIndex;
+            this.jobListCache = jobListCache;
+            this.schedulerDiagnostics = schedulerDiagnostics;
+            this.dispatchThrottle = dispatchThrottle;
+        }
+
         @Override
         public String getName() {
             return getClass().getSimpleName();
@@ -116,26 +210,155 @@ public class QuartzConfig {
         @Override
         public void triggerFired(Trigger trigger, JobExecutionContext context) {
             JobKey jobKey = trigger.getJobKey();
-            log.info("================================================================================");
-            log.info("triggerFired        : {}, {}", jobKey, trigger.getStartTime());
+            fireTimeIndex.update(context.getTrigger());
+
+            // Throttled fires never start, so they are only counted and reported as vetoes
+            DispatchThrottle.Decision decision = dispatchThrottle.acquire(trigger, context);
+            if (decision == DispatchThrottle.Decision.COALESCED) {
+                quartzMetrics.fireCoalesced(jobKey);
+                return;
+            }
+            if (decision == DispatchThrottle.Decision.SKIPPED) {
+                quartzMetrics.fireSkipped(jobKey);
+                return;
+            }
+
+            long fireLag = QuartzMetrics.fireLag(context);
+            quartzMetrics.triggerFired(context);
+            schedulerDiagnostics.recordFireLag(jobKey, fireLag);
+            jobEventPublisher.publish(JobEventType.FIRED, jobKey, fireLag, null);
         }
 
         @Override
         public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
-            return false;
+            return dispatchThrottle.decision(context) != DispatchThrottle.Decision.RUN;
         }
 
         @Override
         public void triggerMisfired(Trigger trigger) {
             JobKey jobKey = trigger.getJobKey();
-            log.info("triggerFired        : {}, {}", jobKey, trigger.getStartTime());
+            quartzMetrics.triggerMisfired(jobKey);
+            schedulerDiagnostics.recordMisfire(trigger);
+            fireTimeIndex.markStale(jobKey);
+            jobListCache.markStale(jobKey);
+            jobEventPublisher.publish(JobEventType.MISFIRED, jobKey, 0, null);
         }
 
         @Override
         public void triggerComplete(Trigger trigger, JobExecutionContext context, Trigger.CompletedExecutionInstruction triggerInstructionCode) {
-            JobKey jobKey = trigger.getJobKey();
-            log.info("triggerComplete     : {}, {}", jobKey, trigger.getStartTime());
-            log.info("================================================================================");
+        }
+
+    }
+
+    @Component
+    public static class GlobalSchedulerListener extends SchedulerListenerSupport {
+
+        private final FireTimeIndex fireTimeIndex;
+
+        private final JobListCache jobListCache;
+
+        private final JobEventPublisher jobEventPublisher;
+
+        private final QuartzMetrics quartzMetrics;
+
+        private final SchedulerDiagnostics schedulerDiagnostics;
+
+        public GlobalSchedulerListener(FireTimeIndex fireTimeIndex, JobListCache jobListCache, JobEventPublisher jobEventPublisher,
+                                       QuartzMetrics quartzMetrics, SchedulerDiagnostics schedulerDiagnostics) {
+            this.fireTimeIndex = fireTimeIndex;
+            this.jobListCache = jobListCache;
+            this.jobEventPublisher = jobEventPublisher;
+            this.quartzMetrics = quartzMetrics;
+            this.schedulerDiagnostics = schedulerDiagnostics;
+        }
+
+        @Override
+        public void jobScheduled(Trigger trigger) {
+            fireTimeIndex.update(trigger);
+            jobListCache.markStale(trigger.getJobKey());
+            Date nextFireTime = trigger.getNextFireTime();
+            jobEventPublisher.publish(JobEventType.SCHEDULED, trigger.getJobKey(), nextFireTime == null ? 0 : nextFireTime.getTime(), null);
+        }
+
+        @Override
+        public void jobUnscheduled(TriggerKey triggerKey) {
+            fireTimeIndex.remove(triggerKey);
+            jobListCache.markAllStale();
+        }
+
+        @Override
+        public void triggerFinalized(Trigger trigger) {
+            fireTimeIndex.remove(trigger.getKey());
+            jobListCache.markStale(trigger.getJobKey());
+        }
+
+        @Override
+        public void triggerPaused(TriggerKey triggerKey) {
+            fireTimeIndex.remove(triggerKey);
+            jobListCache.markAllStale();
+        }
+
+        @Override
+        public void triggersPaused(String triggerGroup) {
+            fireTimeIndex.markStale(triggerGroup);
+            jobListCache.markAllStale();
+        }
+
+        @Override
+        public void triggerResumed(TriggerKey triggerKey) {
+            fireTimeIndex.markStale(triggerKey.getGroup());
+            jobListCache.markAllStale();
+        }
+
+        @Override
+        public void triggersResumed(String triggerGroup) {
+            fireTimeIndex.markStale(triggerGroup);
+            jobListCache.markAllStale();
+        }
+
+        @Override
+        public void jobAdded(JobDetail jobDetail) {
+            jobListCache.markStale(jobDetail.getKey());
+        }
+
+        @Override
+        public void jobDeleted(JobKey jobKey) {
+            fireTimeIndex.removeJob(jobKey);
+            jobListCache.markStale(jobKey);
+            quartzMetrics.jobDeleted(jobKey);
+            schedulerDiagnostics.jobDeleted(jobKey);
+        }
+
+        @Override
+        public void jobPaused(JobKey jobKey) {
+            fireTimeIndex.removeJob(jobKey);
+            jobListCache.markStale(jobKey);
+            jobEventPublisher.publish(JobEventType.PAUSED, jobKey, 0, null);
+        }
+
+        @Override
+        public void jobsPaused(String jobGroup) {
+            fireTimeIndex.markStale(jobGroup);
+            jobListCache.markAllStale();
+        }
+
+        @Override
+        public void jobResumed(JobKey jobKey) {
+            fireTimeIndex.markStale(jobKey);
+            jobListCache.markStale(jobKey);
+            jobEventPublisher.publish(JobEventType.RESUMED, jobKey, 0, null);
+        }
+
+        @Override
+        public void jobsResumed(String jobGroup) {
+            fireTimeIndex.markStale(jobGroup);
+            jobListCache.markAllStale();
+        }
+
+        @Override
+        public void schedulingDataCleared() {
+            fireTimeIndex.markAllStale();
+            jobListCache.markAllStale();
         }
 
     }
@@ -0,0 +1,179 @@
+package com.example.springboot.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "scheduler")
+public class SchedulerProperties {
+
+    private final Batch batch = new Batch();
+
+    private final Metrics metrics = new Metrics();
+
+    private final EventLog eventLog = new EventLog();
+
+    private final JobCache jobCache = new JobCache();
+
+    private final EventStream eventStream = new EventStream();
+
+    private final Partition partition = new Partition();
+
+    private final Diagnostics diagnostics = new Diagnostics();
+
+    private final History history = new History();
+
+    private final JobData jobData = new JobData();
+
+    private final Dispatch dispatch = new Dispatch();
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        private int chunkSize = 500;
+
+    }
+
+    @Getter
+    @Setter
+    public static class Metrics {
+
+        private boolean percentileHistogram;
+
+    }
+
+    @Getter
+    @Setter
+    public static class EventLog {
+
+        private int capacity = 8192;
+
+        private int batchSize = 256;
+
+        private int sampleEvery = 1;
+
+    }
+
+    @Getter
+    @Setter
+    public static class JobCache {
+
+        private Duration maxStaleness = Duration.ofSeconds(1);
+
+        private Duration refreshInterval = Duration.ofSeconds(30);
+
+        private int maxIncrementalRefresh = 256;
+
+    }
+
+    @Getter
+    @Setter
+    public static class EventStream {
+
+        private int bufferSize = 1024;
+
+        private int replayCapacity = 4096;
+
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DISCONNECT;
+
+        private Duration timeout = Duration.ofMinutes(30);
+
+        private Duration heartbeat = Duration.ofSeconds(15);
+
+        public enum OverflowPolicy {
+
+            DROP_OLDEST,
+            DISCONNECT
+
+        }
+
+    }
+
+    @Getter
+    @Setter
+    public static class Partition {
+
+        /**
+         * Worker threads of the shared partition pool, 0 for one per available processor.
+         */
+        private int parallelism = 0;
+
+    }
+
+    @Getter
+    @Setter
+    public static class Diagnostics {
+
+        private int overallPrecisionBits = 5;
+
+        private int jobPrecisionBits = 3;
+
+        private int misfireHistory = 256;
+
+    }
+
+    @Getter
+    @Setter
+    public static class History {
+
+        private Storage storage = Storage.HEAP;
+
+        private int perJob = 64;
+
+        private DataSize maxMemory = DataSize.ofMegabytes(16);
+
+        /**
+         * Backing file when the storage is {@code mapped}.
+         */
+        private String file = "./data/job-history.bin";
+
+        public enum Storage {
+
+            HEAP,
+            DIRECT,
+            MAPPED
+
+        }
+
+    }
+
+    @Getter
+    @Setter
+    public static class JobData {
+
+        private int maxEntries = 32;
+
+        private int maxValueLength = 1024;
+
+    }
+
+    @Getter
+    @Setter
+    public static class Dispatch {
+
+        /**
+         * Coalesce fires of a job that is still running into one pending run. Jobs can override this with
+         * the {@code dispatch.coalesce} job data entry.
+         */
+        private boolean coalesce;
+
+        /**
+         * Job starts per second across the scheduler, 0 for no limit.
+         */
+        private double maxStartsPerSecond = 0;
+
+        private int burst = 100;
+
+        private Map<String, Double> groupMaxStartsPerSecond = new HashMap<>();
+
+    }
+
+}
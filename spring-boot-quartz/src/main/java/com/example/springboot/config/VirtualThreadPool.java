@@ -0,0 +1,393 @@
+package com.example.springboot.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobDetail;
+import org.quartz.SchedulerConfigException;
+import org.quartz.Trigger;
+import org.quartz.core.JobRunShell;
+import org.quartz.spi.ThreadPool;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
+
+/**
+ * Quartz {@link ThreadPool} that runs every job on its own virtual thread.
+ * <p>
+ * Fired jobs are queued per lane (the {@code lane} job data entry, or the job group) and
+ * dispatched by weighted fair share: a free slot goes to the backlogged lane with the
+ * fewest running jobs relative to its weight, so no lane with queued work is starved.
+ * Within a lane, higher trigger priority runs first. Jobs held back by their lane's concurrency
+ * limit do not count against the queue capacity, so a capped lane cannot stall trigger
+ * acquisition for the others; instead each lane holds back at most queue capacity jobs of its own.
+ * After shutdown no work is accepted, and queued jobs only run when the scheduler waits for jobs
+ * to complete.
+ * <p>
+ * The lane is read from the job of the fired trigger, which Quartz only hands to the pool inside its
+ * {@link JobRunShell}; the pool refuses to initialize if that field cannot be found.
+ */
+@Slf4j
+public class VirtualThreadPool implements ThreadPool {
+
+    public static final String LANE_KEY = "lane";
+
+    private static final Field FIRED_TRIGGER_BUNDLE = ReflectionUtils.findField(JobRunShell.class, "firedTriggerBundle");
+
+    private static final Map<String, VirtualThreadPool> POOLS = new ConcurrentHashMap<>();
+
+    static {
+        if (FIRED_TRIGGER_BUNDLE != null) {
+            ReflectionUtils.makeAccessible(FIRED_TRIGGER_BUNDLE);
+        }
+    }
+
+    @Getter
+    @Setter
+    private int threadCount = 10;
+
+    @Getter
+    @Setter
+    private int queueCapacity = -1;
+
+    @Getter
+    @Setter
+    private String laneWeights;
+
+    @Getter
+    @Setter
+    private String laneConcurrencyLimits;
+
+    private final Object lock = new Object();
+
+    private final Map<String, Lane> lanes = new HashMap<>();
+
+    private final Set<Lane> backlogged = new LinkedHashSet<>();
+
+    private final Map<String, Integer> weights = new HashMap<>();
+
+    private final Map<String, Integer> limits = new HashMap<>();
+
+    private int running;
+
+    private int queued;
+
+    private long sequence;
+
+    private volatile boolean shutdown;
+
+    private String instanceName = "QuartzScheduler";
+
+    private ThreadFactory threadFactory;
+
+    public static VirtualThreadPool forScheduler(String schedulerName) {
+        return POOLS.get(schedulerName);
+    }
+
+    public static String laneOf(JobDetail jobDetail) {
+        Object lane = jobDetail.getJobDataMap().get(LANE_KEY);
+        return lane instanceof String ? (String) lane : jobDetail.getKey().getGroup();
+    }
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+        if (threadCount <= 0) {
+            throw new SchedulerConfigException("Thread count must be > 0");
+        }
+        if (queueCapacity < 0) {
+            queueCapacity = threadCount;
+        }
+        if (FIRED_TRIGGER_BUNDLE == null || FIRED_TRIGGER_BUNDLE.getType() != TriggerFiredBundle.class) {
+            throw new SchedulerConfigException("Cannot read the fired trigger of a JobRunShell: field "
+                    + JobRunShell.class.getName() + ".firedTriggerBundle not found");
+        }
+
+        parseLaneSettings(laneWeights, weights::put);
+        parseLaneSettings(laneConcurrencyLimits, limits::put);
+
+        threadFactory = Thread.ofVirtual().name(instanceName + "_Worker-", 1).factory();
+        POOLS.put(instanceName, this);
+
+        log.info("Virtual thread pool initialized: threadCount={}, queueCapacity={}, laneWeights={}, laneConcurrencyLimits={}",
+                threadCount, queueCapacity, weights, limits);
+    }
+
+    private void parseLaneSettings(String settings, BiConsumer<String, Integer> consumer) throws SchedulerConfigException {
+        if (settings == null) {
+            return;
+        }
+
+        for (String setting : settings.split(",")) {
+            if (setting.isBlank()) {
+                continue;
+            }
+            String[] parts = setting.split("=");
+            try {
+                int value = Integer.parseInt(parts[1].trim());
+                if (value <= 0) {
+                    throw new IllegalArgumentException("must be > 0");
+                }
+                consumer.accept(parts[0].trim(), value);
+            } catch (RuntimeException e) {
+                throw new SchedulerConfigException("Invalid lane setting: " + setting, e);
+            }
+        }
+    }
+
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        if (runnable == null) {
+            return false;
+        }
+
+        TriggerFiredBundle bundle = bundleOf(runnable);
+        String laneName = bundle == null ? null : laneOf(bundle.getJobDetail());
+        int priority = bundle == null ? Trigger.DEFAULT_PRIORITY : bundle.getTrigger().getPriority();
+        return runInLane(laneName, priority, runnable);
+    }
+
+    boolean runInLane(String laneName, int priority, Runnable runnable) {
+        synchronized (lock) {
+            Lane lane = lanes.computeIfAbsent(laneName == null ? "DEFAULT" : laneName, this::newLane);
+            while (!shutdown && !hasRoom(lane)) {
+                try {
+                    lock.wait(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            if (shutdown) {
+                return false;
+            }
+
+            lane.queue.add(new Task(runnable, priority, sequence++, System.nanoTime()));
+            backlogged.add(lane);
+            queued++;
+
+            dispatch();
+        }
+        return true;
+    }
+
+    /**
+     * Work queued behind its lane's concurrency limit does not compete for a worker, so it must not
+     * hold back admission for the other lanes; it is bounded by the queue capacity per lane instead.
+     */
+    private boolean hasRoom(Lane lane) {
+        int free = lane.limit - lane.running;
+        if (lane.queue.size() >= free) {
+            return lane.queue.size() - free < queueCapacity;
+        }
+        return admitted() < capacity();
+    }
+
+    private int capacity() {
+        return threadCount + queueCapacity;
+    }
+
+    /**
+     * Running jobs plus the queued jobs that could start as soon as a worker is free, leaving out
+     * jobs that wait for their lane's concurrency limit.
+     */
+    private int admitted() {
+        int admitted = running;
+        for (Lane lane : backlogged) {
+            admitted += Math.min(lane.queue.size(), lane.limit - lane.running);
+        }
+        return admitted;
+    }
+
+    private Lane newLane(String name) {
+        return new Lane(name, weights.getOrDefault(name, 1), limits.getOrDefault(name, Integer.MAX_VALUE));
+    }
+
+    private void dispatch() {
+        while (running < threadCount) {
+            Lane next = null;
+            for (Lane lane : backlogged) {
+                if (lane.running >= lane.limit) {
+                    continue;
+                }
+                if (next == null || lane.compareShare(next) < 0) {
+                    next = lane;
+                }
+            }
+            if (next == null) {
+                return;
+            }
+
+            Task task = next.queue.poll();
+            if (next.queue.isEmpty()) {
+                backlogged.remove(next);
+            }
+            queued--;
+            running++;
+            next.running++;
+            next.dispatched++;
+            next.waitNanos += System.nanoTime() - task.enqueuedAt;
+
+            Lane lane = next;
+            threadFactory.newThread(() -> execute(lane, task.runnable)).start();
+        }
+    }
+
+    private void execute(Lane lane, Runnable runnable) {
+        try {
+            runnable.run();
+        } finally {
+            synchronized (lock) {
+                running--;
+                lane.running--;
+                dispatch();
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private static TriggerFiredBundle bundleOf(Runnable runnable) {
+        if (!(runnable instanceof JobRunShell)) {
+            return null;
+        }
+        return (TriggerFiredBundle) ReflectionUtils.getField(FIRED_TRIGGER_BUNDLE, runnable);
+    }
+
+    @Override
+    public int blockForAvailableThreads() {
+        synchronized (lock) {
+            while (admitted() >= capacity() && !shutdown) {
+                try {
+                    lock.wait(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return Math.max(0, capacity() - admitted());
+        }
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        synchronized (lock) {
+            shutdown = true;
+            if (!waitForJobsToComplete && queued > 0) {
+                log.info("Discarding {} queued jobs on shutdown", queued);
+                lanes.values().forEach(lane -> lane.queue.clear());
+                backlogged.clear();
+                queued = 0;
+            }
+            lock.notifyAll();
+
+            while (waitForJobsToComplete && running + queued > 0) {
+                try {
+                    lock.wait(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        POOLS.remove(instanceName, this);
+    }
+
+    @Override
+    public int getPoolSize() {
+        return threadCount;
+    }
+
+    public int getRunningCount() {
+        synchronized (lock) {
+            return running;
+        }
+    }
+
+    public int getQueuedCount() {
+        synchronized (lock) {
+            return queued;
+        }
+    }
+
+    public LaneStats getLaneStats(String laneName) {
+        synchronized (lock) {
+            Lane lane = lanes.get(laneName);
+            if (lane == null) {
+                return new LaneStats(laneName, 0, 0, 0, 0);
+            }
+            return new LaneStats(lane.name, lane.queue.size(), lane.running, lane.dispatched, lane.waitNanos);
+        }
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.instanceName = schedName;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class LaneStats {
+
+        private final String lane;
+        private final int queued;
+        private final int running;
+        private final long dispatched;
+        private final long waitNanos;
+
+    }
+
+    private static class Lane {
+
+        private final String name;
+        private final int weight;
+        private final int limit;
+        private final PriorityQueue<Task> queue = new PriorityQueue<>(Comparator
+                .comparingInt((Task task) -> -task.priority)
+                .thenComparingLong(task -> task.sequence));
+
+        private int running;
+        private long dispatched;
+        private long waitNanos;
+
+        private Lane(String name, int weight, int limit) {
+            this.name = name;
+            this.weight = weight;
+            this.limit = limit;
+        }
+
+        private int compareShare(Lane other) {
+            int share = Long.compare((long) running * other.weight, (long) other.running * weight);
+            if (share != 0) {
+                return share;
+            }
+            return Long.compare(queue.peek().sequence, other.queue.peek().sequence);
+        }
+
+    }
+
+    @RequiredArgsConstructor
+    private static class Task {
+
+        private final Runnable runnable;
+        private final int priority;
+        private final long sequence;
+        private final long enqueuedAt;
+
+    }
+
+}
@@ -1,17 +1,43 @@
 package com.example.springboot.controller;
 
+import com.example.springboot.dto.QuartzBulkResponse;
+import com.example.springboot.dto.QuartzFireTimeResponse;
+import com.example.springboot.dto.QuartzJobBatchResponse;
+import com.example.springboot.dto.QuartzJobFilter;
+import com.example.springboot.dto.QuartzJobHistoryResponse;
+import com.example.springboot.dto.QuartzJobPageResponse;
 import com.example.springboot.dto.QuartzJobRequest;
 import com.example.springboot.dto.QuartzJobResponse;
+import com.example.springboot.dto.QuartzJobSelector;
+import com.example.springboot.dto.SchedulerDiagnosticsResponse;
+import com.example.springboot.event.JobEventStream;
 import com.example.springboot.job.QuartzSimpleJob;
+import com.example.springboot.service.JobListCache;
 import com.example.springboot.service.QuartzService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import lombok.extern.slf4j.Slf4j;
 import org.quartz.SchedulerException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @Slf4j
 @RestController
@@ -21,10 +47,76 @@ public class QuartzController {
     @Autowired
     private QuartzService quartzService;
 
+    @Autowired
+    private JobEventStream jobEventStream;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping("/jobs")
-    public ResponseEntity<List<QuartzJobResponse>> getAllJobs() throws SchedulerException {
-        List<QuartzJobResponse> jobList = quartzService.scheduleJobList();
-        return new ResponseEntity<>(jobList, HttpStatus.OK);
+    public ResponseEntity<List<QuartzJobResponse>> getAllJobs(QuartzJobFilter filter, WebRequest webRequest) throws SchedulerException {
+        JobListCache.Snapshot snapshot = quartzService.jobListSnapshot();
+        if (webRequest.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+
+        List<QuartzJobResponse> jobList = snapshot.getJobs(filter);
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .body(jobList);
+    }
+
+    @GetMapping("/jobs/page")
+    public ResponseEntity<QuartzJobPageResponse> getJobPage(QuartzJobFilter filter,
+                                                            @RequestParam(name = "cursor", required = false) String cursor,
+                                                            @RequestParam(name = "limit", defaultValue = "100") int limit) throws SchedulerException {
+        QuartzJobPageResponse jobPage = quartzService.scheduleJobPage(filter, cursor, limit);
+        return new ResponseEntity<>(jobPage, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/jobs/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamJobs(QuartzJobFilter filter) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+
+                quartzService.scheduleJobList(filter, null, job -> {
+                    try {
+                        objectMapper.writeValue(generator, job);
+                        generator.writeRaw('\n');
+                        return true;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (SchedulerException e) {
+                throw new IOException(e);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/jobs/upcoming")
+    public ResponseEntity<List<QuartzFireTimeResponse>> getUpcomingFireTimes(@RequestParam(name = "minutes", defaultValue = "10") int minutes,
+                                                                             @RequestParam(name = "limit", defaultValue = "100") int limit) throws SchedulerException {
+        List<QuartzFireTimeResponse> fireTimes = quartzService.upcomingFireTimes(minutes, limit);
+        return new ResponseEntity<>(fireTimes, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return jobEventStream.subscribe(lastEventId);
+    }
+
+    @GetMapping("/diagnostics")
+    public ResponseEntity<SchedulerDiagnosticsResponse> getDiagnostics(@RequestParam(name = "top", defaultValue = "10") int top) throws SchedulerException {
+        SchedulerDiagnosticsResponse diagnostics = quartzService.diagnostics(top);
+        return new ResponseEntity<>(diagnostics, HttpStatus.OK);
     }
 
     @PostMapping("/job")
@@ -33,6 +125,22 @@ public class QuartzController {
         return new ResponseEntity<>("Job created successfully", HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/jobs/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<QuartzJobBatchResponse> scheduleJobs(@RequestBody List<QuartzJobRequest> quartzJobRequests,
+                                                               @RequestParam(name = "replace", defaultValue = "false") boolean replace) throws SchedulerException {
+        QuartzJobBatchResponse batchResponse = quartzService.scheduleJobs(quartzJobRequests.iterator(), replace);
+        return new ResponseEntity<>(batchResponse, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/jobs/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<QuartzJobBatchResponse> scheduleJobStream(InputStream inputStream,
+                                                                    @RequestParam(name = "replace", defaultValue = "false") boolean replace) throws SchedulerException, IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            QuartzJobBatchResponse batchResponse = quartzService.scheduleJobs(new NdjsonRequests(reader, objectMapper.readerFor(QuartzJobRequest.class)), replace);
+            return new ResponseEntity<>(batchResponse, HttpStatus.OK);
+        }
+    }
+
     @DeleteMapping("/job")
     public ResponseEntity<String> deleteJob(@RequestParam(name = "name") String name, @RequestParam(name = "group") String group) throws SchedulerException {
         quartzService.deleteJob(name, group);
@@ -40,6 +148,37 @@ public class QuartzController {
     }
 
 
+    @PutMapping("/jobs/pause")
+    public ResponseEntity<QuartzBulkResponse> pauseJobs(QuartzJobSelector selector) throws SchedulerException {
+        QuartzBulkResponse bulkResponse = quartzService.pauseJobs(selector);
+        return new ResponseEntity<>(bulkResponse, HttpStatus.OK);
+    }
+
+    @PutMapping("/jobs/resume")
+    public ResponseEntity<QuartzBulkResponse> resumeJobs(QuartzJobSelector selector) throws SchedulerException {
+        QuartzBulkResponse bulkResponse = quartzService.resumeJobs(selector);
+        return new ResponseEntity<>(bulkResponse, HttpStatus.OK);
+    }
+
+    @PutMapping("/jobs/stop")
+    public ResponseEntity<QuartzBulkResponse> stopJobs(QuartzJobSelector selector) throws SchedulerException {
+        QuartzBulkResponse bulkResponse = quartzService.stopJobs(selector);
+        return new ResponseEntity<>(bulkResponse, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/jobs")
+    public ResponseEntity<QuartzBulkResponse> deleteJobs(QuartzJobSelector selector) throws SchedulerException {
+        QuartzBulkResponse bulkResponse = quartzService.deleteJobs(selector);
+        return new ResponseEntity<>(bulkResponse, HttpStatus.OK);
+    }
+
+    @GetMapping("/job/history")
+    public ResponseEntity<List<QuartzJobHistoryResponse>> getJobHistory(@RequestParam(name = "name") String name, @RequestParam(name = "group") String group,
+                                                                        @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        List<QuartzJobHistoryResponse> history = quartzService.jobHistory(name, group, limit);
+        return new ResponseEntity<>(history, HttpStatus.OK);
+    }
+
     @PutMapping("/job/pause")
     public ResponseEntity<String> pauseJob(@RequestParam(name = "name") String name, @RequestParam(name = "group") String group) throws SchedulerException {
         quartzService.pauseJob(name, group);
@@ -58,4 +197,58 @@ public class QuartzController {
         return new ResponseEntity<>("Job stopped successfully", HttpStatus.OK);
     }
 
+    /**
+     * Reads one request per non-blank line. Each line is parsed on its own, so a malformed line is
+     * reported as an {@link IllegalArgumentException} for that item and the lines after it are still read.
+     */
+    private static class NdjsonRequests implements Iterator<QuartzJobRequest> {
+
+        private final BufferedReader reader;
+
+        private final ObjectReader objectReader;
+
+        private String line;
+
+        private int lineNumber;
+
+        NdjsonRequests(BufferedReader reader, ObjectReader objectReader) {
+            this.reader = reader;
+            this.objectReader = objectReader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (line == null) {
+                    String next = reader.readLine();
+                    if (next == null) {
+                        return false;
+                    }
+                    lineNumber++;
+                    if (!next.isBlank()) {
+                        line = next;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public QuartzJobRequest next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String current = line;
+            line = null;
+            try {
+                return objectReader.readValue(current);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed job on line " + lineNumber + ": " + e.getOriginalMessage(), e);
+            }
+        }
+
+    }
+
 }
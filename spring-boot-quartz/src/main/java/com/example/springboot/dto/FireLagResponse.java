@@ -0,0 +1,24 @@
+package com.example.springboot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class FireLagResponse {
+
+    private String name;
+    private String group;
+
+    private long count;
+    private long misfires;
+    private double meanMillis;
+    private long p50Millis;
+    private long p90Millis;
+    private long p99Millis;
+    private long p999Millis;
+    private long maxMillis;
+
+}
@@ -0,0 +1,23 @@
+package com.example.springboot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+public class JobEventResponse {
+
+    private long id;
+    private String type;
+    private String name;
+    private String group;
+
+    private LocalDateTime timestamp;
+    private long value;
+    private String detail;
+
+}
@@ -0,0 +1,20 @@
+package com.example.springboot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+public class MisfireResponse {
+
+    private String name;
+    private String group;
+
+    private LocalDateTime scheduledFireAt;
+    private LocalDateTime detectedAt;
+
+}
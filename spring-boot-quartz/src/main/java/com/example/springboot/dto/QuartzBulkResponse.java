@@ -0,0 +1,22 @@
+package com.example.springboot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+public class QuartzBulkResponse {
+
+    private String action;
+    private int matched;
+    private int succeeded;
+    private int failed;
+    private long durationMillis;
+
+    private List<QuartzJobBatchItemResponse> failures;
+
+}
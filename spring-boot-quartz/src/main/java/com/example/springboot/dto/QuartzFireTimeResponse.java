@@ -0,0 +1,19 @@
+package com.example.springboot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+public class QuartzFireTimeResponse {
+
+    private String name;
+    private String group;
+
+    private LocalDateTime fireAt;
+
+}
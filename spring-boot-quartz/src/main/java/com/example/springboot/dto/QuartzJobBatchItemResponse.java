@@ -0,0 +1,18 @@
+package com.example.springboot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class QuartzJobBatchItemResponse {
+
+    private int index;
+    private String name;
+    private String group;
+    private String status;
+    private String message;
+
+}
@@ -0,0 +1,20 @@
+package com.example.springboot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+public class QuartzJobBatchResponse {
+
+    private int total;
+    private int scheduled;
+    private int failed;
+
+    private List<QuartzJobBatchItemResponse> items;
+
+}
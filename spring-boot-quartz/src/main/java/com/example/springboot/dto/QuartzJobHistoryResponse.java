@@ -0,0 +1,20 @@
+package com.example.springboot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+public class QuartzJobHistoryResponse {
+
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
+    private long durationMillis;
+    private String result;
+    private String exception;
+
+}
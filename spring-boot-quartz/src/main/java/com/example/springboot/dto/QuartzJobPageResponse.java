@@ -0,0 +1,17 @@
+package com.example.springboot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+public class QuartzJobPageResponse {
+
+    private List<QuartzJobResponse> jobs;
+    private String nextCursor;
+
+}
@@ -2,9 +2,10 @@ package com.example.springboot.dto;
 
 import lombok.Getter;
 import lombok.Setter;
-import org.quartz.JobDataMap;
+import org.quartz.Trigger;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -19,10 +20,17 @@ public class QuartzJobRequest {
     private String cronExpression;
 
     private String jobClass;
-    private JobDataMap jobDataMap;
+    private Map<String, Object> jobDataMap;
+
+    private Integer priority;
+    private String lane;
 
     public LocalDateTime getStartAt() {
         return startAt == null ? LocalDateTime.now() : startAt;
     }
 
+    public int getPriority() {
+        return priority == null ? Trigger.DEFAULT_PRIORITY : priority;
+    }
+
 }
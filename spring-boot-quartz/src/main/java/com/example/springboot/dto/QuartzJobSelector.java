@@ -0,0 +1,14 @@
+package com.example.springboot.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class QuartzJobSelector {
+
+    private String group;
+    private String namePrefix;
+    private String status;
+
+}
@@ -0,0 +1,22 @@
+package com.example.springboot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@Builder
+public class SchedulerDiagnosticsResponse {
+
+    private FireLagResponse fireLag;
+    private long misfires;
+    private List<FireLagResponse> worstJobs;
+    private List<MisfireResponse> recentMisfires;
+    private ThreadPoolResponse threadPool;
+    private Map<String, String> acquisition;
+
+}
@@ -0,0 +1,19 @@
+package com.example.springboot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class ThreadPoolResponse {
+
+    private String type;
+    private int threadCount;
+    private int running;
+    private int queued;
+    private int queueCapacity;
+    private double saturation;
+
+}
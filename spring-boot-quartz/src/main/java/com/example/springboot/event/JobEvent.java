@@ -0,0 +1,17 @@
+package com.example.springboot.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.quartz.JobKey;
+
+@Getter
+@RequiredArgsConstructor
+public class JobEvent {
+
+    private final JobEventType type;
+    private final JobKey jobKey;
+    private final long timestamp;
+    private final long value;
+    private final String detail;
+
+}
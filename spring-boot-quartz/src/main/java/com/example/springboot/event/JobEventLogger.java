@@ -0,0 +1,136 @@
+package com.example.springboot.event;
+
+import com.example.springboot.config.SchedulerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobKey;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+@Slf4j
+@Component
+public class JobEventLogger implements SmartLifecycle {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final RingBuffer<JobEvent> ringBuffer;
+
+    private final int batchSize;
+
+    private final int sampleEvery;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Only touched by the consumer thread
+    private final StringBuilder batch = new StringBuilder();
+
+    private volatile boolean running;
+
+    private Thread consumer;
+
+    public JobEventLogger(SchedulerProperties schedulerProperties) {
+        SchedulerProperties.EventLog eventLog = schedulerProperties.getEventLog();
+        this.ringBuffer = new RingBuffer<>(eventLog.getCapacity());
+        this.batchSize = Math.max(1, eventLog.getBatchSize());
+        this.sampleEvery = Math.max(1, eventLog.getSampleEvery());
+    }
+
+    public void publish(JobEventType type, JobKey jobKey, long value, String detail) {
+        if (!isSampled(type)) {
+            return;
+        }
+        if (!ringBuffer.offer(new JobEvent(type, jobKey, System.currentTimeMillis(), value, detail))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private boolean isSampled(JobEventType type) {
+        if (type == JobEventType.VETOED || type == JobEventType.MISFIRED) {
+            return true;
+        }
+        return sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        consumer = new Thread(this::consume, "job-event-logger");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume() {
+        long reportedDropped = 0;
+        while (running) {
+            int drained = drain();
+
+            long droppedNow = dropped.get();
+            if (droppedNow != reportedDropped) {
+                log.warn("event=DROPPED count={}", droppedNow - reportedDropped);
+                reportedDropped = droppedNow;
+            }
+
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+
+        while (drain() > 0) {
+            // flush what was queued before shutdown
+        }
+    }
+
+    /**
+     * Writes the drained batch with a single log call, one line per event.
+     */
+    private int drain() {
+        if (!log.isInfoEnabled()) {
+            return ringBuffer.drain(event -> { }, batchSize);
+        }
+
+        int drained = ringBuffer.drain(this::append, batchSize);
+        if (batch.length() > 0) {
+            log.info("{}", batch.toString());
+            batch.setLength(0);
+        }
+        return drained;
+    }
+
+    private void append(JobEvent event) {
+        JobKey jobKey = event.getJobKey();
+        if (batch.length() > 0) {
+            batch.append(System.lineSeparator());
+        }
+        batch.append("event=").append(event.getType())
+                .append(" group=").append(jobKey.getGroup())
+                .append(" job=").append(jobKey.getName())
+                .append(" timestamp=").append(event.getTimestamp())
+                .append(" value=").append(event.getValue())
+                .append(" detail=").append(event.getDetail());
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.example.springboot.event;
+
+import org.quartz.JobKey;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JobEventPublisher {
+
+    private final JobEventLogger jobEventLogger;
+
+    private final JobEventStream jobEventStream;
+
+    public JobEventPublisher(JobEventLogger jobEventLogger, JobEventStream jobEventStream) {
+        this.jobEventLogger = jobEventLogger;
+        this.jobEventStream = jobEventStream;
+    }
+
+    public void publish(JobEventType type, JobKey jobKey, long value, String detail) {
+        jobEventLogger.publish(type, jobKey, value, detail);
+        jobEventStream.publish(type, jobKey, value, detail);
+    }
+
+}
@@ -0,0 +1,322 @@
+package com.example.springboot.event;
+
+import com.example.springboot.config.SchedulerProperties;
+import com.example.springboot.dto.JobEventResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobKey;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans job events out to Server-Sent Events subscribers. Publishing only appends to a replay ring and
+ * offers to each subscriber's bounded queue; the actual writes happen on virtual threads, so a slow
+ * client can never block a scheduler thread. A subscriber whose queue is full either loses its oldest
+ * events or is disconnected, and can resume from the replay ring with {@code Last-Event-ID}. The replay
+ * is sent by the subscriber's own sender a page at a time, so it holds the publishing lock only to copy
+ * each page and never counts against the subscriber's queue.
+ */
+@Slf4j
+@Component
+public class JobEventStream implements SmartLifecycle {
+
+    private final SchedulerProperties.EventStream eventStream;
+
+    private final JobEventResponse[] replay;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile boolean running;
+
+    private ExecutorService senders;
+
+    private ScheduledExecutorService heartbeat;
+
+    public JobEventStream(SchedulerProperties schedulerProperties) {
+        this.eventStream = schedulerProperties.getEventStream();
+        this.replay = new JobEventResponse[Math.max(1, eventStream.getReplayCapacity())];
+    }
+
+    public void publish(JobEventType type, JobKey jobKey, long value, String detail) {
+        JobEventResponse event = JobEventResponse.builder()
+                .type(type.name())
+                .name(jobKey.getName())
+                .group(jobKey.getGroup())
+                .timestamp(LocalDateTime.ofInstant(Instant.now(), ZoneId.systemDefault()))
+                .value(value)
+                .detail(detail)
+                .build();
+
+        synchronized (replay) {
+            long id = sequence.incrementAndGet();
+            event.setId(id);
+            replay[slot(id)] = event;
+            // Recorded even without subscribers, so that a lone client can resume after reconnecting
+            if (!subscribers.isEmpty()) {
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(event);
+                }
+            }
+        }
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(eventStream.getTimeout().toMillis()));
+    }
+
+    SseEmitter subscribe(Long lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        if (!running) {
+            emitter.complete();
+            return emitter;
+        }
+
+        if (lastEventId != null) {
+            subscriber.replayFrom(lastEventId + 1);
+        } else {
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void start() {
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("job-event-stream-", 1).factory());
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-event-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = eventStream.getHeartbeat().toMillis();
+        heartbeat.scheduleAtFixedRate(() -> subscribers.forEach(Subscriber::heartbeat), period, period, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        heartbeat.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdown();
+        try {
+            senders.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private int slot(long id) {
+        return (int) (id % replay.length);
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final ArrayBlockingQueue<JobEventResponse> queue = new ArrayBlockingQueue<>(Math.max(1, eventStream.getBufferSize()));
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+
+        private final AtomicLong dropped = new AtomicLong();
+
+        private volatile boolean overflowed;
+
+        private volatile boolean reset;
+
+        private volatile boolean closed;
+
+        private final AtomicBoolean catchingUp = new AtomicBoolean();
+
+        private long nextReplayId;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void replayFrom(long id) {
+            nextReplayId = id;
+            catchingUp.set(true);
+        }
+
+        private void offer(JobEventResponse event) {
+            if (closed) {
+                return;
+            }
+            if (overflowed) {
+                dropped.incrementAndGet();
+                return;
+            }
+
+            while (!queue.offer(event)) {
+                if (eventStream.getOverflowPolicy() == SchedulerProperties.EventStream.OverflowPolicy.DISCONNECT) {
+                    overflowed = true;
+                    dropped.incrementAndGet();
+                    break;
+                }
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+            schedule();
+        }
+
+        private void heartbeat() {
+            heartbeatDue.set(true);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    send();
+                    scheduled.set(false);
+                } while ((!queue.isEmpty() || heartbeatDue.get()) && !closed && scheduled.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Closing event subscriber: {}", e.getMessage());
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void send() throws IOException {
+            if (catchingUp.get()) {
+                replay();
+                if (closed) {
+                    return;
+                }
+            }
+            if (reset) {
+                reset = false;
+                emitter.send(SseEmitter.event().name("reset").data("Events were lost, reload the job list"));
+            }
+            if (heartbeatDue.getAndSet(false)) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+
+            JobEventResponse event;
+            while ((event = queue.poll()) != null) {
+                long droppedNow = overflowed ? 0 : dropped.getAndSet(0);
+                if (droppedNow > 0) {
+                    emitter.send(SseEmitter.event().name("dropped").data(droppedNow));
+                }
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.getId()))
+                        .name(event.getType())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+
+            if (overflowed) {
+                emitter.send(SseEmitter.event().name("overflow").data(dropped.get()));
+                close();
+                emitter.complete();
+            }
+        }
+
+        /**
+         * Sends the missed events from the replay ring, copying at most a queue's worth at a time. Once
+         * the copy reaches the newest event the subscriber joins the live fan-out under the same lock,
+         * so no event is sent twice or skipped without a {@code reset}.
+         */
+        private void replay() throws IOException {
+            JobEventResponse[] page = new JobEventResponse[Math.max(1, eventStream.getBufferSize())];
+            while (catchingUp.get() && !closed) {
+                if (!running) {
+                    close();
+                    emitter.complete();
+                    return;
+                }
+                int count = 0;
+                synchronized (replay) {
+                    long newest = sequence.get();
+                    long oldest = Math.max(1, newest - replay.length + 1);
+                    if (nextReplayId < oldest || nextReplayId > newest + 1) {
+                        // Too far behind, or an id from before a restart
+                        reset = true;
+                        nextReplayId = nextReplayId < oldest ? oldest : newest + 1;
+                    }
+                    for (; nextReplayId <= newest && count < page.length; nextReplayId++) {
+                        JobEventResponse event = replay[slot(nextReplayId)];
+                        if (event == null || event.getId() != nextReplayId) {
+                            // Already overwritten by a newer event
+                            reset = true;
+                        } else {
+                            page[count++] = event;
+                        }
+                    }
+                    if (nextReplayId > newest) {
+                        subscribers.add(this);
+                        finishReplay();
+                    }
+                }
+
+                if (reset) {
+                    reset = false;
+                    emitter.send(SseEmitter.event().name("reset").data("Events were lost, reload the job list"));
+                }
+                for (int i = 0; i < count; i++) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(page[i].getId()))
+                            .name(page[i].getType())
+                            .data(page[i], MediaType.APPLICATION_JSON));
+                    page[i] = null;
+                }
+            }
+        }
+
+        private void finishReplay() {
+            catchingUp.set(false);
+        }
+
+        private void close() {
+            closed = true;
+            finishReplay();
+            subscribers.remove(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.example.springboot.event;
+
+public enum JobEventType {
+
+    SCHEDULED,
+    FIRED,
+    COMPLETED,
+    VETOED,
+    MISFIRED,
+    PAUSED,
+    RESUMED,
+    INTERRUPTED
+
+}
@@ -0,0 +1,84 @@
+package com.example.springboot.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ * {@link #offer(Object)} never blocks and fails when the buffer is full.
+ */
+public class RingBuffer<E> {
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+
+    private long consumerIndex;
+
+    public RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(E element) {
+        long index = producerIndex.get();
+        while (true) {
+            int slot = (int) index & mask;
+            long difference = sequences.get(slot) - index;
+            if (difference == 0) {
+                if (producerIndex.compareAndSet(index, index + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.lazySet(slot, index + 1);
+                    return true;
+                }
+                index = producerIndex.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                index = producerIndex.get();
+            }
+        }
+    }
+
+    public E poll() {
+        int slot = (int) consumerIndex & mask;
+        if (sequences.get(slot) != consumerIndex + 1) {
+            return null;
+        }
+
+        E element = elements.get(slot);
+        elements.lazySet(slot, null);
+        sequences.lazySet(slot, consumerIndex + mask + 1);
+        consumerIndex++;
+        return element;
+    }
+
+    public int drain(Consumer<? super E> consumer, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+}
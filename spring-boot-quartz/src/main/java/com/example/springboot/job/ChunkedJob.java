@@ -0,0 +1,112 @@
+package com.example.springboot.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.InterruptableJob;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.PersistJobDataAfterExecution;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+import java.time.Duration;
+
+/**
+ * Base class for long-running jobs that split their work into bounded chunks. Interruption is checked
+ * between chunks and the index of the next chunk is kept in the {@link JobDataMap}, so a stopped or
+ * failed run picks up where it left off on the next fire. With a persistent job store the checkpoint is
+ * also written through at most every {@link #checkpointInterval()}, so a crash loses little work.
+ */
+@Slf4j
+@PersistJobDataAfterExecution
+@DisallowConcurrentExecution
+public abstract class ChunkedJob extends QuartzJobBean implements InterruptableJob {
+
+    public static final String CHECKPOINT_KEY = "chunk.checkpoint";
+
+    private volatile boolean interrupted;
+
+    private Thread executingThread;
+
+    /**
+     * Processes one chunk of work.
+     *
+     * @return {@code true} if more chunks remain
+     */
+    protected abstract boolean executeChunk(JobExecutionContext context, long chunk) throws Exception;
+
+    protected Duration checkpointInterval() {
+        return Duration.ofSeconds(10);
+    }
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
+        JobDataMap jobDataMap = context.getJobDetail().getJobDataMap();
+        long chunk = jobDataMap.containsKey(CHECKPOINT_KEY) ? jobDataMap.getLongValue(CHECKPOINT_KEY) : 0;
+        if (chunk > 0) {
+            log.info("Resuming {} at chunk {}", context.getJobDetail().getKey(), chunk);
+        }
+
+        synchronized (this) {
+            executingThread = Thread.currentThread();
+        }
+        long lastFlush = System.nanoTime();
+        try {
+            boolean more = true;
+            while (more && !interrupted) {
+                try {
+                    more = executeChunk(context, chunk);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                chunk++;
+
+                jobDataMap.putAsString(CHECKPOINT_KEY, more ? chunk : 0);
+                if (more && System.nanoTime() - lastFlush >= checkpointInterval().toNanos()) {
+                    flushCheckpoint(context);
+                    lastFlush = System.nanoTime();
+                }
+            }
+
+            if (more) {
+                log.info("Stopped {} at chunk {}", context.getJobDetail().getKey(), chunk);
+                context.setResult("INTERRUPTED");
+            }
+        } catch (JobExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JobExecutionException("Chunk " + chunk + " failed", e, false);
+        } finally {
+            synchronized (this) {
+                executingThread = null;
+                // Don't leak the interrupt into the pool thread that ran us
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private void flushCheckpoint(JobExecutionContext context) {
+        try {
+            Scheduler scheduler = context.getScheduler();
+            if (scheduler.getMetaData().isJobStoreSupportsPersistence()) {
+                scheduler.addJob(context.getJobDetail(), true, true);
+            }
+        } catch (SchedulerException e) {
+            log.warn("Could not persist checkpoint of {}: {}", context.getJobDetail().getKey(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void interrupt() {
+        interrupted = true;
+        synchronized (this) {
+            if (executingThread != null) {
+                log.info("Interrupt: {}", executingThread.getName());
+                executingThread.interrupt();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.example.springboot.job;
+
+import com.example.springboot.config.PartitionPool;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.InterruptableJob;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Base class for data-parallel jobs. The work is split into {@value #PARTITIONS_KEY} partitions that are
+ * run on the shared {@link PartitionPool}, by at most {@value #PARALLELISM_KEY} workers per job.
+ * Partial results are combined in partition order. A failing partition or {@link #interrupt()} stops every
+ * worker before its next partition, and an interrupt also cancels the workers, interrupting the partitions
+ * they are running. The job returns only once no worker is running a partition any more. The per-partition timings are handed to the job listeners as the job {@link Result}.
+ */
+@Slf4j
+public abstract class PartitionedJob<R> extends QuartzJobBean implements InterruptableJob {
+
+    public static final String PARTITIONS_KEY = "partition.count";
+
+    public static final String PARALLELISM_KEY = "partition.parallelism";
+
+    @Autowired
+    private PartitionPool partitionPool;
+
+    private volatile boolean cancelled;
+
+    private volatile boolean interrupted;
+
+    private volatile List<ForkJoinTask<?>> workers;
+
+    protected abstract R executePartition(JobExecutionContext context, int partition) throws Exception;
+
+    protected abstract R combine(R left, R right);
+
+    protected boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
+        JobDataMap jobDataMap = context.getMergedJobDataMap();
+        int partitions = jobDataMap.containsKey(PARTITIONS_KEY) ? jobDataMap.getIntValue(PARTITIONS_KEY) : 0;
+        if (partitions <= 0) {
+            throw new JobExecutionException("Missing or invalid " + PARTITIONS_KEY);
+        }
+
+        ForkJoinPool forkJoinPool = partitionPool.getForkJoinPool();
+        int parallelism = forkJoinPool.getParallelism();
+        if (jobDataMap.containsKey(PARALLELISM_KEY)) {
+            parallelism = Math.max(1, Math.min(parallelism, jobDataMap.getIntValue(PARALLELISM_KEY)));
+        }
+        parallelism = Math.min(parallelism, partitions);
+
+        AtomicInteger nextPartition = new AtomicInteger();
+        AtomicReferenceArray<R> results = new AtomicReferenceArray<>(partitions);
+        AtomicLongArray partitionNanos = new AtomicLongArray(partitions);
+        // A worker is claimed either by its own body or, if it was cancelled before it started, by the join
+        // below, and the claimant counts it down once it can no longer touch the results
+        AtomicIntegerArray claimed = new AtomicIntegerArray(parallelism);
+        CountDownLatch finished = new CountDownLatch(parallelism);
+
+        List<ForkJoinTask<?>> workers = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            int worker = i;
+            workers.add(forkJoinPool.submit(ForkJoinTask.adaptInterruptible(() -> {
+                if (!claimed.compareAndSet(worker, 0, 1)) {
+                    return null;
+                }
+                try {
+                    int partition;
+                    while (!cancelled && (partition = nextPartition.getAndIncrement()) < partitions) {
+                        long start = System.nanoTime();
+                        try {
+                            results.set(partition, executePartition(context, partition));
+                        } catch (Exception e) {
+                            cancelled = true;
+                            throw e;
+                        }
+                        partitionNanos.set(partition, System.nanoTime() - start);
+                    }
+                    return null;
+                } finally {
+                    finished.countDown();
+                }
+            })));
+        }
+        this.workers = workers;
+        if (interrupted) {
+            cancel(workers);
+        }
+
+        Throwable failure = null;
+        for (int i = 0; i < parallelism; i++) {
+            ForkJoinTask<?> worker = workers.get(i);
+            worker.quietlyJoin();
+            if (worker.isCancelled()) {
+                // Joining a cancelled task returns at once, even while its body is still running
+                if (claimed.compareAndSet(i, 0, 1)) {
+                    finished.countDown();
+                }
+            } else if (worker.getException() != null && failure == null) {
+                failure = worker.getException();
+            }
+        }
+        awaitWorkers(finished);
+
+        R aggregate = null;
+        int completed = 0;
+        for (int i = 0; i < partitions; i++) {
+            R result = results.get(i);
+            if (result != null) {
+                aggregate = aggregate == null ? result : combine(aggregate, result);
+                completed++;
+            }
+        }
+        long[] nanos = new long[partitions];
+        for (int i = 0; i < partitions; i++) {
+            nanos[i] = partitionNanos.get(i);
+        }
+        context.setResult(new Result(aggregate, nanos, completed, cancelled));
+
+        if (failure != null) {
+            throw new JobExecutionException("Partition failed", failure, false);
+        }
+        if (cancelled) {
+            log.info("Stopped {} after {} of {} partitions", context.getJobDetail().getKey(), completed, partitions);
+        }
+    }
+
+    @Override
+    public void interrupt() {
+        interrupted = true;
+        cancelled = true;
+        List<ForkJoinTask<?>> workers = this.workers;
+        if (workers != null) {
+            cancel(workers);
+        }
+    }
+
+    /**
+     * Waits until no worker runs a partition any more, so that a stopped job does not leave partitions
+     * behind that could overlap its next run.
+     */
+    private void awaitWorkers(CountDownLatch finished) {
+        boolean interruptedWhileWaiting = false;
+        while (true) {
+            try {
+                finished.await();
+                break;
+            } catch (InterruptedException e) {
+                interruptedWhileWaiting = true;
+                interrupt();
+            }
+        }
+        if (interruptedWhileWaiting) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void cancel(List<ForkJoinTask<?>> workers) {
+        // Interruptible tasks interrupt the thread running them when cancelled
+        for (ForkJoinTask<?> worker : workers) {
+            worker.cancel(true);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Result {
+
+        private final Object aggregate;
+        private final long[] partitionNanos;
+        private final int completed;
+        private final boolean cancelled;
+
+    }
+
+}
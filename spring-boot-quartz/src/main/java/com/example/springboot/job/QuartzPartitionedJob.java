@@ -0,0 +1,39 @@
+package com.example.springboot.job;
+
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+
+public class QuartzPartitionedJob extends PartitionedJob<Long> {
+
+    public static final String PARTITION_SIZE_KEY = "partition.size";
+
+    private static final int DEFAULT_PARTITION_SIZE = 1_000_000;
+
+    @Override
+    protected Long executePartition(JobExecutionContext context, int partition) {
+        JobDataMap jobDataMap = context.getMergedJobDataMap();
+        long size = jobDataMap.containsKey(PARTITION_SIZE_KEY) ? jobDataMap.getLongValue(PARTITION_SIZE_KEY) : DEFAULT_PARTITION_SIZE;
+
+        long checksum = 0;
+        long from = partition * size;
+        for (long i = from; i < from + size; i++) {
+            if ((i & 0xFFFF) == 0 && isCancelled()) {
+                break;
+            }
+            checksum += mix(i);
+        }
+        return isCancelled() ? null : checksum;
+    }
+
+    @Override
+    protected Long combine(Long left, Long right) {
+        return left + right;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.example.springboot.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram in the style of HdrHistogram. Every power of two is split into
+ * {@code 2^precisionBits} linear sub-buckets, so a reported percentile is within {@code 2^-precisionBits}
+ * of the recorded value; values below {@code 2^precisionBits} are exact. Recording is a single
+ * {@code getAndIncrement} plus a CAS on the maximum only when it grows. Values are clamped to
+ * {@code [0, 2^36)}.
+ */
+public class LagHistogram {
+
+    // About 800 days of lag in milliseconds; larger values are counted in the top bucket
+    private static final int MAX_VALUE_BITS = 36;
+
+    private final int precisionBits;
+
+    private final int subBuckets;
+
+    private final AtomicLongArray counts;
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    public LagHistogram(int precisionBits) {
+        this.precisionBits = Math.max(1, Math.min(precisionBits, 10));
+        this.subBuckets = 1 << this.precisionBits;
+        this.counts = new AtomicLongArray(indexOf((1L << MAX_VALUE_BITS) - 1) + 1);
+    }
+
+    public void record(long value) {
+        long clamped = Math.max(0, Math.min(value, (1L << MAX_VALUE_BITS) - 1));
+        counts.getAndIncrement(indexOf(clamped));
+        count.incrementAndGet();
+        sum.addAndGet(clamped);
+
+        long currentMax;
+        while (clamped > (currentMax = max.get()) && !max.compareAndSet(currentMax, clamped)) {
+            // retry
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the highest value equivalent to the bucket holding the percentile, capped at the maximum
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private int indexOf(long value) {
+        if (value < subBuckets) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - precisionBits;
+        int subBucket = (int) (value >>> shift);
+        return (shift + 1) * subBuckets + (subBucket - subBuckets);
+    }
+
+    private long highestValueOf(int index) {
+        if (index < subBuckets) {
+            return index;
+        }
+        int shift = index / subBuckets - 1;
+        long subBucket = index % subBuckets + subBuckets;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
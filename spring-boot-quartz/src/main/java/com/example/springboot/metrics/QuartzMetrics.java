@@ -0,0 +1,228 @@
+package com.example.springboot.metrics;
+
+import com.example.springboot.config.SchedulerProperties;
+import com.example.springboot.config.VirtualThreadPool;
+import com.example.springboot.job.PartitionedJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class QuartzMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean percentileHistogram;
+
+    private final Map<JobKey, JobMeters> jobMeters = new ConcurrentHashMap<>();
+
+    private final Map<String, LaneMeters> laneMeters = new ConcurrentHashMap<>();
+
+    private final Map<JobKey, Timer> partitionTimers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public QuartzMetrics(MeterRegistry meterRegistry, SchedulerProperties schedulerProperties) {
+        this.meterRegistry = meterRegistry;
+        this.percentileHistogram = schedulerProperties.getMetrics().isPercentileHistogram();
+
+        Gauge.builder("quartz.jobs.in.flight", inFlight, AtomicInteger::get)
+                .description("Number of jobs currently executing")
+                .register(meterRegistry);
+    }
+
+    public static long fireLag(JobExecutionContext context) {
+        Date scheduledFireTime = context.getScheduledFireTime();
+        if (scheduledFireTime == null) {
+            return -1;
+        }
+        return Math.max(0, System.currentTimeMillis() - scheduledFireTime.getTime());
+    }
+
+    public void triggerFired(JobExecutionContext context) {
+        long fireLag = fireLag(context);
+        if (fireLag >= 0) {
+            meters(context.getJobDetail().getKey()).fireLag.record(fireLag, TimeUnit.MILLISECONDS);
+        }
+
+        Date fireTime = context.getFireTime();
+        if (fireTime != null) {
+            long laneWait = Math.max(0, System.currentTimeMillis() - fireTime.getTime());
+            laneMeters(context).wait.record(laneWait, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void jobToBeExecuted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void jobWasExecuted(JobExecutionContext context, boolean failed) {
+        inFlight.decrementAndGet();
+
+        JobMeters meters = meters(context.getJobDetail().getKey());
+        meters.execution.record(context.getJobRunTime(), TimeUnit.MILLISECONDS);
+        if (failed) {
+            meters.failures.increment();
+        }
+    }
+
+    public void partitionsExecuted(JobKey jobKey, PartitionedJob.Result result) {
+        Timer timer = partitionTimers.computeIfAbsent(jobKey, key -> Timer.builder("quartz.job.partition")
+                .description("Duration of a single partition of a partitioned job")
+                .tags("group", key.getGroup(), "job", key.getName())
+                .publishPercentileHistogram(percentileHistogram)
+                .register(meterRegistry));
+        for (long nanos : result.getPartitionNanos()) {
+            if (nanos > 0) {
+                timer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    public void jobVetoed(JobKey jobKey) {
+        meters(jobKey).vetoes.increment();
+    }
+
+    public void fireCoalesced(JobKey jobKey) {
+        meters(jobKey).coalesced.increment();
+    }
+
+    public void fireSkipped(JobKey jobKey) {
+        meters(jobKey).skipped.increment();
+    }
+
+    public void triggerMisfired(JobKey jobKey) {
+        meters(jobKey).misfires.increment();
+    }
+
+    public void jobDeleted(JobKey jobKey) {
+        JobMeters meters = jobMeters.remove(jobKey);
+        if (meters != null) {
+            meters.remove();
+        }
+        Timer partitionTimer = partitionTimers.remove(jobKey);
+        if (partitionTimer != null) {
+            meterRegistry.remove(partitionTimer);
+        }
+    }
+
+    private JobMeters meters(JobKey jobKey) {
+        JobMeters meters = jobMeters.get(jobKey);
+        if (meters == null) {
+            meters = jobMeters.computeIfAbsent(jobKey, JobMeters::new);
+        }
+        return meters;
+    }
+
+    private LaneMeters laneMeters(JobExecutionContext context) {
+        String lane = VirtualThreadPool.laneOf(context.getJobDetail());
+        LaneMeters meters = laneMeters.get(lane);
+        if (meters == null) {
+            meters = laneMeters.computeIfAbsent(lane, name -> new LaneMeters(name, threadPool(context)));
+        }
+        return meters;
+    }
+
+    private VirtualThreadPool threadPool(JobExecutionContext context) {
+        try {
+            return VirtualThreadPool.forScheduler(context.getScheduler().getSchedulerName());
+        } catch (SchedulerException e) {
+            return null;
+        }
+    }
+
+    private class JobMeters {
+
+        private final Timer execution;
+        private final Timer fireLag;
+        private final Counter failures;
+        private final Counter vetoes;
+        private final Counter misfires;
+        private final Counter coalesced;
+        private final Counter skipped;
+
+        private JobMeters(JobKey jobKey) {
+            Tags tags = Tags.of("group", jobKey.getGroup(), "job", jobKey.getName());
+
+            execution = Timer.builder("quartz.job.execution")
+                    .description("Job execution duration")
+                    .tags(tags)
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+            fireLag = Timer.builder("quartz.job.fire.lag")
+                    .description("Delay between the scheduled and the actual fire time")
+                    .tags(tags)
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+            failures = Counter.builder("quartz.job.failures")
+                    .description("Job executions that ended with an exception")
+                    .tags(tags)
+                    .register(meterRegistry);
+            vetoes = Counter.builder("quartz.job.vetoes")
+                    .description("Job executions vetoed by a trigger listener")
+                    .tags(tags)
+                    .register(meterRegistry);
+            misfires = Counter.builder("quartz.job.misfires")
+                    .description("Trigger misfires")
+                    .tags(tags)
+                    .register(meterRegistry);
+            coalesced = Counter.builder("quartz.job.fires.coalesced")
+                    .description("Fires folded into the pending run of a job that was still running")
+                    .tags(tags)
+                    .register(meterRegistry);
+            skipped = Counter.builder("quartz.job.fires.skipped")
+                    .description("Fires skipped by the dispatch rate limit")
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+
+        private void remove() {
+            for (Meter meter : List.of(execution, fireLag, failures, vetoes, misfires, coalesced, skipped)) {
+                meterRegistry.remove(meter);
+            }
+        }
+
+    }
+
+    private class LaneMeters {
+
+        private final Timer wait;
+
+        private LaneMeters(String lane, VirtualThreadPool threadPool) {
+            Tags tags = Tags.of("lane", lane);
+
+            wait = Timer.builder("quartz.lane.wait")
+                    .description("Time a fired job waited in its lane queue before it started")
+                    .tags(tags)
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+
+            if (threadPool != null) {
+                Gauge.builder("quartz.lane.queued", threadPool, pool -> pool.getLaneStats(lane).getQueued())
+                        .description("Fired jobs waiting for a worker in this lane")
+                        .tags(tags)
+                        .register(meterRegistry);
+                Gauge.builder("quartz.lane.running", threadPool, pool -> pool.getLaneStats(lane).getRunning())
+                        .description("Jobs currently running in this lane")
+                        .tags(tags)
+                        .register(meterRegistry);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.example.springboot.metrics;
+
+import com.example.springboot.config.SchedulerProperties;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.quartz.JobKey;
+import org.quartz.Trigger;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fire lag histograms per job and overall, plus the most recent misfires, for the diagnostics endpoint.
+ * Per-job histograms are only created once a job fires or misfires, and are dropped when the job is deleted.
+ */
+@Component
+public class SchedulerDiagnostics {
+
+    private final SchedulerProperties.Diagnostics diagnostics;
+
+    private final LagHistogram overall;
+
+    private final Map<JobKey, JobLag> jobLags = new ConcurrentHashMap<>();
+
+    private final Deque<Misfire> misfires = new ArrayDeque<>();
+
+    private final AtomicLong misfireCount = new AtomicLong();
+
+    public SchedulerDiagnostics(SchedulerProperties schedulerProperties) {
+        this.diagnostics = schedulerProperties.getDiagnostics();
+        this.overall = new LagHistogram(diagnostics.getOverallPrecisionBits());
+    }
+
+    public void recordFireLag(JobKey jobKey, long fireLag) {
+        if (fireLag < 0) {
+            return;
+        }
+        overall.record(fireLag);
+        jobLag(jobKey).histogram.record(fireLag);
+    }
+
+    public void recordMisfire(Trigger trigger) {
+        JobKey jobKey = trigger.getJobKey();
+        jobLag(jobKey).misfires.incrementAndGet();
+        misfireCount.incrementAndGet();
+
+        Date missed = trigger.getNextFireTime();
+        Misfire misfire = new Misfire(jobKey, missed == null ? 0 : missed.getTime(), System.currentTimeMillis());
+        synchronized (misfires) {
+            misfires.addFirst(misfire);
+            while (misfires.size() > diagnostics.getMisfireHistory()) {
+                misfires.removeLast();
+            }
+        }
+    }
+
+    public void jobDeleted(JobKey jobKey) {
+        jobLags.remove(jobKey);
+    }
+
+    public LagHistogram getOverall() {
+        return overall;
+    }
+
+    public long getMisfireCount() {
+        return misfireCount.get();
+    }
+
+    public Map<JobKey, JobLag> getJobLags() {
+        return Collections.unmodifiableMap(jobLags);
+    }
+
+    public List<Misfire> getRecentMisfires() {
+        synchronized (misfires) {
+            return new ArrayList<>(misfires);
+        }
+    }
+
+    private JobLag jobLag(JobKey jobKey) {
+        JobLag jobLag = jobLags.get(jobKey);
+        if (jobLag == null) {
+            jobLag = jobLags.computeIfAbsent(jobKey, key -> new JobLag(new LagHistogram(diagnostics.getJobPrecisionBits())));
+        }
+        return jobLag;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class JobLag {
+
+        private final LagHistogram histogram;
+        private final AtomicLong misfires = new AtomicLong();
+
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Misfire {
+
+        private final JobKey jobKey;
+        private final long scheduledFireTime;
+        private final long detectedAt;
+
+    }
+
+}
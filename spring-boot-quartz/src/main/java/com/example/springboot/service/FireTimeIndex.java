@@ -0,0 +1,175 @@
+package com.example.springboot.service;
+
+import com.example.springboot.config.DispatchThrottle;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Upcoming fire time of every active trigger, ordered by time. Kept up to date from scheduler
+ * and trigger listener callbacks; jobs whose triggers changed without telling us the new fire
+ * time are marked stale and reloaded on the next query. Triggers the dispatch throttle adds for
+ * coalesced runs are left out.
+ */
+@Component
+public class FireTimeIndex {
+
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>(Comparator
+            .comparingLong(Entry::getFireTime)
+            .thenComparing(Entry::getTriggerKey));
+
+    private final Map<TriggerKey, Entry> entriesByTrigger = new ConcurrentHashMap<>();
+
+    private final Set<JobKey> staleJobs = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> staleGroups = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean rebuildRequired = true;
+
+    public void update(Trigger trigger) {
+        if (DispatchThrottle.isReserved(trigger)) {
+            return;
+        }
+        update(trigger.getKey(), trigger.getJobKey(), trigger.getNextFireTime());
+    }
+
+    public void remove(TriggerKey triggerKey) {
+        update(triggerKey, null, null);
+    }
+
+    private void update(TriggerKey triggerKey, JobKey jobKey, Date nextFireTime) {
+        entriesByTrigger.compute(triggerKey, (key, previous) -> {
+            if (previous != null) {
+                entries.remove(previous);
+            }
+            if (nextFireTime == null) {
+                return null;
+            }
+
+            Entry entry = new Entry(triggerKey, jobKey, nextFireTime.getTime());
+            entries.add(entry);
+            return entry;
+        });
+    }
+
+    public void removeJob(JobKey jobKey) {
+        for (Entry entry : entriesByTrigger.values()) {
+            if (entry.getJobKey().equals(jobKey)) {
+                remove(entry.getTriggerKey());
+            }
+        }
+    }
+
+    public void markStale(JobKey jobKey) {
+        staleJobs.add(jobKey);
+    }
+
+    public void markStale(String group) {
+        if (group == null) {
+            markAllStale();
+        } else {
+            staleGroups.add(group);
+        }
+    }
+
+    public void markAllStale() {
+        rebuildRequired = true;
+    }
+
+    public List<Entry> upcoming(Scheduler scheduler, Date until, int limit) throws SchedulerException {
+        refresh(scheduler);
+
+        List<Entry> upcoming = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.getFireTime() > until.getTime() || upcoming.size() >= limit) {
+                break;
+            }
+            upcoming.add(entry);
+        }
+        return upcoming;
+    }
+
+    private synchronized void refresh(Scheduler scheduler) throws SchedulerException {
+        if (rebuildRequired) {
+            // Cleared up front so that a change during the rebuild asks for another one
+            rebuildRequired = false;
+            staleJobs.clear();
+            staleGroups.clear();
+            try {
+                entriesByTrigger.keySet().forEach(this::remove);
+                for (String group : scheduler.getJobGroupNames()) {
+                    reloadGroup(scheduler, group);
+                }
+            } catch (SchedulerException | RuntimeException e) {
+                rebuildRequired = true;
+                throw e;
+            }
+            return;
+        }
+
+        for (Iterator<String> iterator = staleGroups.iterator(); iterator.hasNext(); ) {
+            String group = iterator.next();
+            iterator.remove();
+            try {
+                reloadGroup(scheduler, group);
+            } catch (SchedulerException | RuntimeException e) {
+                staleGroups.add(group);
+                throw e;
+            }
+        }
+        for (Iterator<JobKey> iterator = staleJobs.iterator(); iterator.hasNext(); ) {
+            JobKey jobKey = iterator.next();
+            iterator.remove();
+            try {
+                reloadJob(scheduler, jobKey);
+            } catch (SchedulerException | RuntimeException e) {
+                staleJobs.add(jobKey);
+                throw e;
+            }
+        }
+    }
+
+    private void reloadGroup(Scheduler scheduler, String group) throws SchedulerException {
+        for (JobKey jobKey : scheduler.getJobKeys(GroupMatcher.jobGroupEquals(group))) {
+            reloadJob(scheduler, jobKey);
+        }
+    }
+
+    private void reloadJob(Scheduler scheduler, JobKey jobKey) throws SchedulerException {
+        removeJob(jobKey);
+        for (Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
+            Trigger.TriggerState triggerState = scheduler.getTriggerState(trigger.getKey());
+            if (triggerState == Trigger.TriggerState.NORMAL || triggerState == Trigger.TriggerState.BLOCKED) {
+                update(trigger);
+            }
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+
+        private final TriggerKey triggerKey;
+        private final JobKey jobKey;
+        private final long fireTime;
+
+    }
+
+}
@@ -0,0 +1,292 @@
+package com.example.springboot.service;
+
+import com.example.springboot.config.SchedulerProperties;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobKey;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recent executions of every job in fixed-size records, one ring of {@code perJob} records per job. All
+ * rings live in a single buffer sized by {@code maxMemory}, which is on the heap, in direct memory or in a
+ * memory-mapped file that survives restarts. When every slot is taken the least recently written job is
+ * evicted.
+ * <pre>
+ * file:   magic(4) version(4) perJob(4) slots(4) ... padded to 64 bytes
+ * slot:   magic(4) keyLength(4) writes(8) lastWrite(8) key(232 bytes, "group\0name")
+ *         followed by perJob records of
+ *         start(8) duration(8) outcome(1) exceptionLength(1) exception(46 bytes, UTF-8 tail)
+ * </pre>
+ */
+@Slf4j
+@Component
+public class JobExecutionHistory implements DisposableBean {
+
+    private static final int FILE_MAGIC = 0x4A484953;
+
+    private static final int SLOT_MAGIC = 0x534C4F54;
+
+    private static final int VERSION = 1;
+
+    private static final int FILE_HEADER_BYTES = 64;
+
+    private static final int SLOT_HEADER_BYTES = 256;
+
+    private static final int KEY_OFFSET = 24;
+
+    private static final int MAX_KEY_BYTES = SLOT_HEADER_BYTES - KEY_OFFSET;
+
+    private static final int RECORD_BYTES = 64;
+
+    private static final int MAX_EXCEPTION_BYTES = RECORD_BYTES - 18;
+
+    private final int perJob;
+
+    private final int slotBytes;
+
+    private final int slotCount;
+
+    private final ByteBuffer arena;
+
+    private final FileChannel channel;
+
+    // Insertion ordered and re-inserted on every write, so that reads do not protect a job from eviction
+    private final Map<JobKey, Integer> slots = new LinkedHashMap<>();
+
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    public JobExecutionHistory(SchedulerProperties schedulerProperties) throws IOException {
+        SchedulerProperties.History history = schedulerProperties.getHistory();
+        this.perJob = Math.max(1, history.getPerJob());
+        this.slotBytes = SLOT_HEADER_BYTES + perJob * RECORD_BYTES;
+
+        long maxMemory = Math.min(history.getMaxMemory().toBytes(), Integer.MAX_VALUE);
+        this.slotCount = (int) Math.max(1, (maxMemory - FILE_HEADER_BYTES) / slotBytes);
+        int arenaBytes = FILE_HEADER_BYTES + slotCount * slotBytes;
+
+        switch (history.getStorage()) {
+            case DIRECT:
+                this.channel = null;
+                this.arena = ByteBuffer.allocateDirect(arenaBytes);
+                break;
+            case MAPPED:
+                Path file = Paths.get(history.getFile());
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                this.arena = channel.map(FileChannel.MapMode.READ_WRITE, 0, arenaBytes);
+                break;
+            default:
+                this.channel = null;
+                this.arena = ByteBuffer.allocate(arenaBytes);
+        }
+
+        if (!restore()) {
+            arena.putInt(0, FILE_MAGIC).putInt(4, VERSION).putInt(8, perJob).putInt(12, slotCount);
+            for (int slot = 0; slot < slotCount; slot++) {
+                arena.putInt(slotOffset(slot), 0);
+                freeSlots.add(slot);
+            }
+        }
+        log.info("Job history: storage={}, slots={}, recordsPerJob={}, bytes={}, restoredJobs={}",
+                history.getStorage(), slotCount, perJob, arenaBytes, slots.size());
+    }
+
+    public synchronized void record(JobKey jobKey, long start, long duration, Outcome outcome, String exception) {
+        Integer slot = slots.remove(jobKey);
+        if (slot == null) {
+            slot = allocate(jobKey);
+            if (slot == null) {
+                return;
+            }
+        }
+        slots.put(jobKey, slot);
+
+        int offset = slotOffset(slot);
+        long writes = arena.getLong(offset + 8);
+        int record = offset + SLOT_HEADER_BYTES + (int) (writes % perJob) * RECORD_BYTES;
+
+        arena.putLong(record, start);
+        arena.putLong(record + 8, duration);
+        arena.put(record + 16, (byte) outcome.ordinal());
+        byte[] exceptionBytes = tail(exception);
+        arena.put(record + 17, (byte) exceptionBytes.length);
+        arena.put(record + 18, exceptionBytes);
+
+        arena.putLong(offset + 8, writes + 1);
+        arena.putLong(offset + 16, start + duration);
+    }
+
+    public synchronized List<Execution> history(JobKey jobKey, int limit) {
+        Integer slot = slots.get(jobKey);
+        if (slot == null) {
+            return Collections.emptyList();
+        }
+
+        int offset = slotOffset(slot);
+        long writes = arena.getLong(offset + 8);
+        int size = (int) Math.min(Math.min(writes, perJob), Math.max(0, limit));
+
+        // Newest first: one pass backwards through the ring
+        Outcome[] outcomes = Outcome.values();
+        Execution[] executions = new Execution[size];
+        for (int i = 0; i < size; i++) {
+            int record = offset + SLOT_HEADER_BYTES + (int) ((writes - 1 - i) % perJob) * RECORD_BYTES;
+            byte[] exceptionBytes = new byte[arena.get(record + 17)];
+            arena.get(record + 18, exceptionBytes);
+            executions[i] = new Execution(
+                    arena.getLong(record),
+                    arena.getLong(record + 8),
+                    outcomes[arena.get(record + 16)],
+                    exceptionBytes.length == 0 ? null : new String(exceptionBytes, StandardCharsets.UTF_8));
+        }
+        return Arrays.asList(executions);
+    }
+
+    private Integer allocate(JobKey jobKey) {
+        byte[] key = (jobKey.getGroup() + '\0' + jobKey.getName()).getBytes(StandardCharsets.UTF_8);
+        if (key.length > MAX_KEY_BYTES) {
+            log.debug("Job key too long for history: {}", jobKey);
+            return null;
+        }
+
+        Integer slot = freeSlots.poll();
+        if (slot == null) {
+            Map.Entry<JobKey, Integer> eldest = slots.entrySet().iterator().next();
+            slot = eldest.getValue();
+            slots.remove(eldest.getKey());
+        }
+
+        int offset = slotOffset(slot);
+        arena.putInt(offset, SLOT_MAGIC);
+        arena.putInt(offset + 4, key.length);
+        arena.putLong(offset + 8, 0);
+        arena.putLong(offset + 16, 0);
+        arena.put(offset + KEY_OFFSET, key);
+        return slot;
+    }
+
+    private boolean restore() {
+        if (channel == null || arena.getInt(0) != FILE_MAGIC || arena.getInt(4) != VERSION
+                || arena.getInt(8) != perJob || arena.getInt(12) != slotCount) {
+            return false;
+        }
+
+        List<Map.Entry<JobKey, long[]>> restored = new ArrayList<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            int offset = slotOffset(slot);
+            int keyLength = arena.getInt(offset + 4);
+            if (arena.getInt(offset) != SLOT_MAGIC || keyLength <= 0 || keyLength > MAX_KEY_BYTES) {
+                freeSlots.add(slot);
+                continue;
+            }
+
+            byte[] key = new byte[keyLength];
+            arena.get(offset + KEY_OFFSET, key);
+            String[] parts = new String(key, StandardCharsets.UTF_8).split("\0", 2);
+            if (parts.length != 2 || !validRecords(offset)) {
+                log.warn("Discarding corrupt job history slot {}", slot);
+                freeSlots.add(slot);
+                continue;
+            }
+            restored.add(Map.entry(JobKey.jobKey(parts[1], parts[0]), new long[]{slot, arena.getLong(offset + 16)}));
+        }
+
+        // Oldest first, so the order of the map starts out as the write order
+        restored.sort(Comparator.comparingLong(entry -> entry.getValue()[1]));
+        restored.forEach(entry -> slots.put(entry.getKey(), (int) entry.getValue()[0]));
+        return true;
+    }
+
+    private boolean validRecords(int offset) {
+        long writes = arena.getLong(offset + 8);
+        if (writes < 0) {
+            return false;
+        }
+        for (int i = 0; i < Math.min(writes, perJob); i++) {
+            int record = offset + SLOT_HEADER_BYTES + i * RECORD_BYTES;
+            int outcome = arena.get(record + 16);
+            int exceptionLength = arena.get(record + 17);
+            if (outcome < 0 || outcome >= Outcome.values().length || exceptionLength < 0 || exceptionLength > MAX_EXCEPTION_BYTES) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int slotOffset(int slot) {
+        return FILE_HEADER_BYTES + slot * slotBytes;
+    }
+
+    private static byte[] tail(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        // Keep the end of the class name, which carries the simple name, starting on a character boundary
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_EXCEPTION_BYTES) {
+            return bytes;
+        }
+        int from = bytes.length - MAX_EXCEPTION_BYTES;
+        while (from < bytes.length && (bytes[from] & 0xC0) == 0x80) {
+            from++;
+        }
+        return Arrays.copyOfRange(bytes, from, bytes.length);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            ((MappedByteBuffer) arena).force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public enum Outcome {
+
+        SUCCESS,
+        FAILED,
+        INTERRUPTED
+
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Execution {
+
+        private final long start;
+        private final long duration;
+        private final Outcome outcome;
+        private final String exception;
+
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.example.springboot.service;
+
+import com.example.springboot.config.SchedulerProperties;
+import com.example.springboot.dto.QuartzJobFilter;
+import com.example.springboot.dto.QuartzJobResponse;
+import lombok.Getter;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snapshot of the full job list served to pollers. Listener callbacks mark single jobs stale, which
+ * are reloaded in place on the next read; anything that may add or remove jobs in bulk forces a full
+ * rebuild. Changes are visible after at most {@code maxStaleness}, and the whole list is rebuilt every
+ * {@code refreshInterval} to pick up changes made by other cluster nodes. The ETag is a hash of the
+ * listed content, so a refresh that finds nothing new keeps it, and every node serving the same jobs
+ * reports the same ETag.
+ */
+@Component
+public class JobListCache {
+
+    private static final Comparator<JobKey> JOB_ORDER = Comparator
+            .comparing(JobKey::getGroup)
+            .thenComparing(JobKey::getName);
+
+    private final SchedulerProperties schedulerProperties;
+
+    private final AtomicLong dirtySince = new AtomicLong();
+
+    private final Set<JobKey> staleJobs = ConcurrentHashMap.newKeySet();
+
+    private final Map<JobKey, AtomicInteger> runningJobs = new ConcurrentHashMap<>();
+
+    private volatile boolean rebuildRequired = true;
+
+    private volatile Snapshot snapshot;
+
+    public JobListCache(SchedulerProperties schedulerProperties) {
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    public void markStale(JobKey jobKey) {
+        staleJobs.add(jobKey);
+        markDirty();
+    }
+
+    public void markAllStale() {
+        rebuildRequired = true;
+        markDirty();
+    }
+
+    public void jobStarted(JobKey jobKey) {
+        runningJobs.computeIfAbsent(jobKey, key -> new AtomicInteger()).incrementAndGet();
+        markStale(jobKey);
+    }
+
+    public void jobFinished(JobKey jobKey) {
+        runningJobs.computeIfPresent(jobKey, (key, count) -> count.decrementAndGet() > 0 ? count : null);
+        markStale(jobKey);
+    }
+
+    public boolean isRunning(JobKey jobKey) {
+        return runningJobs.containsKey(jobKey);
+    }
+
+    private void markDirty() {
+        dirtySince.compareAndSet(0, System.nanoTime());
+    }
+
+    public Snapshot get(Loader loader) throws SchedulerException {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+
+            // Reset before loading so that events arriving during the load dirty the new snapshot.
+            dirtySince.set(0);
+            SchedulerProperties.JobCache jobCache = schedulerProperties.getJobCache();
+            boolean rebuild = current == null || rebuildRequired || staleJobs.size() > jobCache.getMaxIncrementalRefresh()
+                    || System.nanoTime() - current.builtAt >= jobCache.getRefreshInterval().toNanos();
+
+            if (rebuild) {
+                rebuildRequired = false;
+                staleJobs.clear();
+                snapshot = snapshot(System.nanoTime(), index(loader.loadAll()));
+            } else {
+                snapshot = snapshot(current.builtAt, reload(loader, current.jobsByKey));
+            }
+            return snapshot;
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        if (current == null) {
+            return false;
+        }
+
+        long now = System.nanoTime();
+        long dirty = dirtySince.get();
+        SchedulerProperties.JobCache jobCache = schedulerProperties.getJobCache();
+        if (dirty != 0 && now - dirty >= jobCache.getMaxStaleness().toNanos()) {
+            return false;
+        }
+        return now - current.builtAt < jobCache.getRefreshInterval().toNanos();
+    }
+
+    private NavigableMap<JobKey, QuartzJobResponse> reload(Loader loader, NavigableMap<JobKey, QuartzJobResponse> jobsByKey) throws SchedulerException {
+        NavigableMap<JobKey, QuartzJobResponse> reloaded = new TreeMap<>(jobsByKey);
+        for (Iterator<JobKey> iterator = staleJobs.iterator(); iterator.hasNext(); ) {
+            JobKey jobKey = iterator.next();
+            iterator.remove();
+
+            QuartzJobResponse job = loader.load(jobKey);
+            if (job == null) {
+                reloaded.remove(jobKey);
+            } else {
+                reloaded.put(jobKey, job);
+            }
+        }
+        return reloaded;
+    }
+
+    private NavigableMap<JobKey, QuartzJobResponse> index(List<QuartzJobResponse> jobs) {
+        NavigableMap<JobKey, QuartzJobResponse> jobsByKey = new TreeMap<>(JOB_ORDER);
+        for (QuartzJobResponse job : jobs) {
+            jobsByKey.put(JobKey.jobKey(job.getName(), job.getGroup()), job);
+        }
+        return jobsByKey;
+    }
+
+    private static Snapshot snapshot(long builtAt, NavigableMap<JobKey, QuartzJobResponse> jobsByKey) {
+        MessageDigest digest = md5();
+        StringBuilder fields = new StringBuilder();
+        for (QuartzJobResponse job : jobsByKey.values()) {
+            fields.setLength(0);
+            fields.append(job.getGroup()).append('\0')
+                    .append(job.getName()).append('\0')
+                    .append(job.getStatus()).append('\0')
+                    .append(job.getStartAt()).append('\0')
+                    .append(job.getPrevFireAt()).append('\0')
+                    .append(job.getNextFireAt()).append('\n');
+            digest.update(fields.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return new Snapshot("\"" + HexFormat.of().formatHex(digest.digest()) + "\"", builtAt, jobsByKey);
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+
+    public interface Loader {
+
+        List<QuartzJobResponse> loadAll() throws SchedulerException;
+
+        /**
+         * @return the current state of the job, or {@code null} if it no longer exists
+         */
+        QuartzJobResponse load(JobKey jobKey) throws SchedulerException;
+
+    }
+
+    public static class Snapshot {
+
+        @Getter
+        private final String etag;
+
+        private final long builtAt;
+
+        private final NavigableMap<JobKey, QuartzJobResponse> jobsByKey;
+
+        Snapshot(String etag, long builtAt, NavigableMap<JobKey, QuartzJobResponse> jobsByKey) {
+            this.etag = etag;
+            this.builtAt = builtAt;
+            this.jobsByKey = Collections.unmodifiableNavigableMap(jobsByKey);
+        }
+
+        public List<QuartzJobResponse> getJobs(QuartzJobFilter filter) {
+            List<QuartzJobResponse> jobs = new ArrayList<>();
+            for (QuartzJobResponse job : jobsByKey.values()) {
+                if (matches(filter, job)) {
+                    jobs.add(job);
+                }
+            }
+            return jobs;
+        }
+
+        private boolean matches(QuartzJobFilter filter, QuartzJobResponse job) {
+            if (filter.getGroup() != null && !filter.getGroup().isEmpty() && !filter.getGroup().equals(job.getGroup())) {
+                return false;
+            }
+            if (filter.getStatus() != null && !filter.getStatus().equalsIgnoreCase(job.getStatus())) {
+                return false;
+            }
+            if (filter.getNextFireFrom() != null && (job.getNextFireAt() == null || job.getNextFireAt().isBefore(filter.getNextFireFrom()))) {
+                return false;
+            }
+            return filter.getNextFireTo() == null || (job.getNextFireAt() != null && !job.getNextFireAt().isAfter(filter.getNextFireTo()));
+        }
+
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.example.springboot.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class QuartzJobRegistry {
+
+    private static final String JOB_PACKAGE = "com.example.springboot.job";
+
+    private final Map<String, JobDetail> jobTemplates = new ConcurrentHashMap<>();
+
+    public QuartzJobRegistry() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AssignableTypeFilter(Job.class));
+
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        for (BeanDefinition beanDefinition : scanner.findCandidateComponents(JOB_PACKAGE)) {
+            Class<?> jobClass = ClassUtils.resolveClassName(beanDefinition.getBeanClassName(), classLoader);
+            register(jobClass.asSubclass(Job.class));
+        }
+    }
+
+    private void register(Class<? extends Job> jobClass) {
+        if (!Modifier.isPublic(jobClass.getModifiers()) || !ClassUtils.hasConstructor(jobClass)) {
+            log.warn("Skipping job class without a public no-arg constructor: {}", jobClass.getName());
+            return;
+        }
+
+        JobDetail jobTemplate = JobBuilder.newJob(jobClass).build();
+        jobTemplates.put(jobClass.getName(), jobTemplate);
+        jobTemplates.putIfAbsent(jobClass.getSimpleName(), jobTemplate);
+
+        log.info("Registered job class: {}", jobClass.getName());
+    }
+
+    public JobBuilder newJob(String jobClass) throws SchedulerException {
+        JobDetail jobTemplate = jobClass == null ? null : jobTemplates.get(jobClass);
+        if (jobTemplate == null) {
+            throw new SchedulerException("Unknown job class: " + jobClass);
+        }
+        return jobTemplate.getJobBuilder();
+    }
+
+    public Collection<JobDetail> getJobTemplates() {
+        return Collections.unmodifiableCollection(jobTemplates.values());
+    }
+
+}
@@ -1,129 +1,576 @@
 package com.example.springboot.service;
 
+import com.example.springboot.config.DispatchThrottle;
+import com.example.springboot.config.SchedulerProperties;
+import com.example.springboot.config.VirtualThreadPool;
+import com.example.springboot.dto.QuartzBulkResponse;
+import com.example.springboot.dto.QuartzJobBatchItemResponse;
+import com.example.springboot.dto.QuartzJobBatchResponse;
+import com.example.springboot.dto.FireLagResponse;
+import com.example.springboot.dto.MisfireResponse;
+import com.example.springboot.dto.QuartzFireTimeResponse;
+import com.example.springboot.dto.QuartzJobFilter;
+import com.example.springboot.dto.QuartzJobHistoryResponse;
+import com.example.springboot.dto.QuartzJobPageResponse;
 import com.example.springboot.dto.QuartzJobRequest;
 import com.example.springboot.dto.QuartzJobResponse;
+import com.example.springboot.dto.QuartzJobSelector;
+import com.example.springboot.dto.SchedulerDiagnosticsResponse;
+import com.example.springboot.dto.ThreadPoolResponse;
+import com.example.springboot.event.JobEventPublisher;
+import com.example.springboot.event.JobEventType;
+import com.example.springboot.metrics.LagHistogram;
+import com.example.springboot.metrics.SchedulerDiagnostics;
 import lombok.extern.slf4j.Slf4j;
 import org.quartz.CronScheduleBuilder;
-import org.quartz.Job;
-import org.quartz.JobBuilder;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobKey;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
+import org.quartz.SchedulerMetaData;
 import org.quartz.SimpleScheduleBuilder;
 import org.quartz.SimpleTrigger;
 import org.quartz.Trigger;
 import org.quartz.TriggerBuilder;
+import org.quartz.impl.jdbcjobstore.JobStoreSupport;
 import org.quartz.impl.matchers.GroupMatcher;
-import org.springframework.context.ApplicationContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.quartz.JobStoreType;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 @Slf4j
 @Service
 public class QuartzService {
 
-    private final ApplicationContext context;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final Comparator<Trigger> TRIGGER_ORDER = Comparator.comparing(Trigger::getKey);
+
+    // Quartz 2.3 defaults of the acquisition settings, used when spring.quartz.properties leaves them unset
+    private static final String[][] ACQUISITION_DEFAULTS = {
+            {"org.quartz.scheduler.batchTriggerAcquisitionMaxCount", "1"},
+            {"org.quartz.scheduler.batchTriggerAcquisitionFireAheadTimeWindow", "0"},
+            {"org.quartz.scheduler.idleWaitTime", "30000"},
+            {"org.quartz.jobStore.misfireThreshold", "60000"}};
 
     private final SchedulerFactoryBean schedulerFactoryBean;
 
-    public QuartzService(ApplicationContext context, SchedulerFactoryBean schedulerFactoryBean) {
-        this.context = context;
+    private final SchedulerProperties schedulerProperties;
+
+    private final QuartzJobRegistry quartzJobRegistry;
+
+    private final FireTimeIndex fireTimeIndex;
+
+    private final JobListCache jobListCache;
+
+    private final JobEventPublisher jobEventPublisher;
+
+    private final SchedulerDiagnostics schedulerDiagnostics;
+
+    private final QuartzProperties quartzProperties;
+
+    private final JobExecutionHistory jobExecutionHistory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public QuartzService(SchedulerFactoryBean schedulerFactoryBean, SchedulerProperties schedulerProperties,
+                         QuartzJobRegistry quartzJobRegistry, FireTimeIndex fireTimeIndex,
+                         JobListCache jobListCache, JobEventPublisher jobEventPublisher, SchedulerDiagnostics schedulerDiagnostics,
+                         QuartzProperties quartzProperties, JobExecutionHistory jobExecutionHistory,
+                         ObjectProvider<PlatformTransactionManager> transactionManager) {
         this.schedulerFactoryBean = schedulerFactoryBean;
+        this.schedulerProperties = schedulerProperties;
+        this.quartzJobRegistry = quartzJobRegistry;
+        this.fireTimeIndex = fireTimeIndex;
+        this.jobListCache = jobListCache;
+        this.jobEventPublisher = jobEventPublisher;
+        this.schedulerDiagnostics = schedulerDiagnostics;
+        this.quartzProperties = quartzProperties;
+        this.jobExecutionHistory = jobExecutionHistory;
+        // The JDBC job store joins Spring transactions, which makes a chunk all-or-nothing
+        PlatformTransactionManager jdbcTransactionManager = quartzProperties.getJobStoreType() == JobStoreType.JDBC
+                ? transactionManager.getIfUnique()
+                : null;
+        this.transactionTemplate = jdbcTransactionManager == null ? null : new TransactionTemplate(jdbcTransactionManager);
     }
 
     public List<QuartzJobResponse> scheduleJobList() throws SchedulerException {
+        return scheduleJobList(new QuartzJobFilter());
+    }
+
+    public List<QuartzJobResponse> scheduleJobList(QuartzJobFilter filter) throws SchedulerException {
         List<QuartzJobResponse> jobList = new ArrayList<>();
+        scheduleJobList(filter, null, jobList::add);
+        return jobList;
+    }
+
+    public QuartzJobPageResponse scheduleJobPage(QuartzJobFilter filter, String cursor, int limit) throws SchedulerException {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<QuartzJobResponse> jobList = new ArrayList<>(pageSize + 1);
+
+        scheduleJobList(filter, decodeCursor(cursor), job -> jobList.add(job) && jobList.size() <= pageSize);
 
+        String nextCursor = null;
+        if (jobList.size() > pageSize) {
+            jobList.remove(pageSize);
+            QuartzJobResponse last = jobList.get(pageSize - 1);
+            nextCursor = encodeCursor(JobKey.jobKey(last.getName(), last.getGroup()));
+        }
+
+        return QuartzJobPageResponse.builder()
+                .jobs(jobList)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Lists jobs in group and name order, starting after the given key. Every listed job costs two
+     * store reads, its triggers and the state of the first one, so repeated full listings should go
+     * through {@link #jobListSnapshot()}.
+     */
+    public void scheduleJobList(QuartzJobFilter filter, JobKey after, Predicate<QuartzJobResponse> consumer) throws SchedulerException {
         Scheduler scheduler = schedulerFactoryBean.getScheduler();
-        for (String jobGroupName : scheduler.getJobGroupNames()) {
-            for (JobKey jobKey : scheduler.getJobKeys(GroupMatcher.jobGroupEquals(jobGroupName))) {
-                List<? extends Trigger> triggers = scheduler.getTriggersOfJob(jobKey);
-                if (triggers == null || triggers.isEmpty()) {
+        Set<JobKey> runningJobKeys = runningJobKeys(scheduler);
+
+        Date nextFireFrom = asDate(filter.getNextFireFrom());
+        Date nextFireTo = asDate(filter.getNextFireTo());
+
+        for (String jobGroupName : jobGroupNames(scheduler, filter)) {
+            if (after != null && jobGroupName.compareTo(after.getGroup()) < 0) {
+                continue;
+            }
+
+            // Skip to the cursor on the keys alone, so a page only loads the triggers it returns
+            List<JobKey> jobKeys = sortedJobKeys(scheduler, jobGroupName);
+            int from = after != null && jobGroupName.equals(after.getGroup()) ? indexAfter(jobKeys, after.getName()) : 0;
+
+            for (JobKey jobKey : jobKeys.subList(from, jobKeys.size())) {
+                Trigger trigger = triggerOf(scheduler, jobKey);
+                if (trigger == null) {
                     continue;
                 }
 
-                boolean isRunning = false;
+                Date nextFireTime = trigger.getNextFireTime();
+                if (nextFireFrom != null && (nextFireTime == null || nextFireTime.before(nextFireFrom))) {
+                    continue;
+                }
+                if (nextFireTo != null && (nextFireTime == null || nextFireTime.after(nextFireTo))) {
+                    continue;
+                }
 
-                List<JobExecutionContext> currentJobs = scheduler.getCurrentlyExecutingJobs();
-                if (currentJobs != null) {
-                    for (JobExecutionContext currentJob : currentJobs) {
-                        if (jobKey.getName().equals(currentJob.getJobDetail().getKey().getName())) {
-                            isRunning = true;
-                            break;
-                        }
-                    }
+                QuartzJobResponse quartzJobResponse = jobResponse(scheduler, jobKey, trigger, runningJobKeys.contains(jobKey));
+                if (filter.getStatus() != null && !filter.getStatus().equalsIgnoreCase(quartzJobResponse.getStatus())) {
+                    continue;
                 }
 
-                Trigger trigger = triggers.get(0);
-
-                String status;
-                if (isRunning) {
-                    status = "RUNNING";
-                } else {
-                    Trigger.TriggerState triggerState = scheduler.getTriggerState(trigger.getKey());
-                    if (Trigger.TriggerState.NORMAL.equals(triggerState)) {
-                        status = "SCHEDULED";
-                    } else {
-                        status = triggerState.name().toUpperCase();
-                    }
+                if (!consumer.test(quartzJobResponse)) {
+                    return;
                 }
+            }
+        }
+    }
 
-                QuartzJobResponse quartzJobResponse = QuartzJobResponse.builder()
-                        .name(jobKey.getName())
-                        .group(jobKey.getGroup())
-                        .status(status)
-                        .startAt(asLocalDateTime(trigger.getStartTime()))
-                        .prevFireAt(asLocalDateTime(trigger.getPreviousFireTime()))
-                        .nextFireAt(asLocalDateTime(trigger.getNextFireTime()))
-                        .build();
+    public JobListCache.Snapshot jobListSnapshot() throws SchedulerException {
+        Scheduler scheduler = schedulerFactoryBean.getScheduler();
+        return jobListCache.get(new JobListCache.Loader() {
+            @Override
+            public List<QuartzJobResponse> loadAll() throws SchedulerException {
+                return scheduleJobList();
+            }
 
-                jobList.add(quartzJobResponse);
+            @Override
+            public QuartzJobResponse load(JobKey jobKey) throws SchedulerException {
+                Trigger trigger = triggerOf(scheduler, jobKey);
+                if (trigger == null) {
+                    return null;
+                }
+                return jobResponse(scheduler, jobKey, trigger, jobListCache.isRunning(jobKey));
             }
+        });
+    }
+
+    private QuartzJobResponse jobResponse(Scheduler scheduler, JobKey jobKey, Trigger trigger, boolean running) throws SchedulerException {
+        String status;
+        if (running) {
+            status = "RUNNING";
+        } else {
+            status = asStatus(scheduler.getTriggerState(trigger.getKey()));
         }
 
-        return jobList;
+        return QuartzJobResponse.builder()
+                .name(jobKey.getName())
+                .group(jobKey.getGroup())
+                .status(status)
+                .startAt(asLocalDateTime(trigger.getStartTime()))
+                .prevFireAt(asLocalDateTime(trigger.getPreviousFireTime()))
+                .nextFireAt(asLocalDateTime(trigger.getNextFireTime()))
+                .build();
     }
 
-    @SuppressWarnings("unchecked")
-    public void scheduleJob(QuartzJobRequest quartzJobRequest) throws SchedulerException {
-        Class<? extends Job> jobClass;
+    private Collection<String> jobGroupNames(Scheduler scheduler, QuartzJobFilter filter) throws SchedulerException {
+        if (filter.getGroup() != null && !filter.getGroup().isEmpty()) {
+            return Collections.singletonList(filter.getGroup());
+        }
+        return new TreeSet<>(scheduler.getJobGroupNames());
+    }
+
+    private List<JobKey> sortedJobKeys(Scheduler scheduler, String group) throws SchedulerException {
+        List<JobKey> jobKeys = new ArrayList<>(scheduler.getJobKeys(GroupMatcher.jobGroupEquals(group)));
+        jobKeys.sort(Comparator.comparing(JobKey::getName));
+        return jobKeys;
+    }
+
+    private static int indexAfter(List<JobKey> sortedJobKeys, String name) {
+        int low = 0;
+        int high = sortedJobKeys.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedJobKeys.get(middle).getName().compareTo(name) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private String encodeCursor(JobKey jobKey) {
+        String value = jobKey.getGroup().length() + ":" + jobKey.getGroup() + jobKey.getName();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private JobKey decodeCursor(String cursor) throws SchedulerException {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
         try {
-            jobClass = (Class<? extends Job>) Class.forName(quartzJobRequest.getJobClass());
-        } catch (ClassNotFoundException e) {
-            throw new SchedulerException(e);
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            int groupLength = Integer.parseInt(value.substring(0, separator));
+            String group = value.substring(separator + 1, separator + 1 + groupLength);
+            String name = value.substring(separator + 1 + groupLength);
+            return JobKey.jobKey(name, group);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new SchedulerException("Invalid cursor: " + cursor, e);
         }
+    }
 
-        String cronExpression = quartzJobRequest.getCronExpression();
-        if (cronExpression != null && !cronExpression.isEmpty()) {
-            scheduleJob(quartzJobRequest.getName(), quartzJobRequest.getGroup(), cronExpression, quartzJobRequest.getJobDataMap(), jobClass);
+    private Set<JobKey> runningJobKeys(Scheduler scheduler) throws SchedulerException {
+        List<JobExecutionContext> currentJobs = scheduler.getCurrentlyExecutingJobs();
+        if (currentJobs == null || currentJobs.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<JobKey> runningJobKeys = new HashSet<>(currentJobs.size() * 2);
+        for (JobExecutionContext currentJob : currentJobs) {
+            runningJobKeys.add(currentJob.getJobDetail().getKey());
+        }
+        return runningJobKeys;
+    }
+
+    /**
+     * The trigger a job is listed with. Stores return the triggers of a job in no defined order, so
+     * the one with the lowest key is used, the same one whether the job is loaded alone or in a list.
+     * Triggers the dispatch throttle added for a coalesced run are not part of the job's schedule.
+     */
+    private Trigger triggerOf(Scheduler scheduler, JobKey jobKey) throws SchedulerException {
+        List<? extends Trigger> triggers = scheduler.getTriggersOfJob(jobKey);
+        if (triggers == null || triggers.isEmpty()) {
+            return null;
+        }
+        if (triggers.size() == 1) {
+            return DispatchThrottle.isReserved(triggers.get(0)) ? null : triggers.get(0);
+        }
+        return triggers.stream()
+                .filter(trigger -> !DispatchThrottle.isReserved(trigger))
+                .min(TRIGGER_ORDER)
+                .orElse(null);
+    }
+
+    private String asStatus(Trigger.TriggerState triggerState) {
+        if (Trigger.TriggerState.NORMAL.equals(triggerState)) {
+            return "SCHEDULED";
+        }
+        return triggerState.name().toUpperCase();
+    }
+
+    public List<QuartzFireTimeResponse> upcomingFireTimes(int minutes, int limit) throws SchedulerException {
+        Date until = new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(minutes));
+        int maxSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<QuartzFireTimeResponse> fireTimes = new ArrayList<>();
+        for (FireTimeIndex.Entry entry : fireTimeIndex.upcoming(schedulerFactoryBean.getScheduler(), until, maxSize)) {
+            fireTimes.add(QuartzFireTimeResponse.builder()
+                    .name(entry.getJobKey().getName())
+                    .group(entry.getJobKey().getGroup())
+                    .fireAt(asLocalDateTime(new Date(entry.getFireTime())))
+                    .build());
+        }
+        return fireTimes;
+    }
+
+    public List<QuartzJobHistoryResponse> jobHistory(String name, String group, int limit) {
+        int maxSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<QuartzJobHistoryResponse> history = new ArrayList<>();
+        for (JobExecutionHistory.Execution execution : jobExecutionHistory.history(JobKey.jobKey(name, group), maxSize)) {
+            history.add(QuartzJobHistoryResponse.builder()
+                    .startAt(asLocalDateTime(new Date(execution.getStart())))
+                    .endAt(asLocalDateTime(new Date(execution.getStart() + execution.getDuration())))
+                    .durationMillis(execution.getDuration())
+                    .result(execution.getOutcome().name())
+                    .exception(execution.getException())
+                    .build());
+        }
+        return history;
+    }
+
+    public SchedulerDiagnosticsResponse diagnostics(int top) throws SchedulerException {
+        Scheduler scheduler = schedulerFactoryBean.getScheduler();
+        int maxSize = Math.max(1, Math.min(top, MAX_PAGE_SIZE));
+
+        List<FireLagResponse> jobLags = new ArrayList<>();
+        schedulerDiagnostics.getJobLags().forEach((jobKey, jobLag) ->
+                jobLags.add(fireLag(jobKey, jobLag.getHistogram(), jobLag.getMisfires().get())));
+        jobLags.sort(Comparator.comparingLong(FireLagResponse::getP99Millis)
+                .thenComparingLong(FireLagResponse::getMisfires)
+                .reversed());
+
+        List<MisfireResponse> recentMisfires = new ArrayList<>();
+        for (SchedulerDiagnostics.Misfire misfire : schedulerDiagnostics.getRecentMisfires()) {
+            recentMisfires.add(MisfireResponse.builder()
+                    .name(misfire.getJobKey().getName())
+                    .group(misfire.getJobKey().getGroup())
+                    .scheduledFireAt(asLocalDateTime(new Date(misfire.getScheduledFireTime())))
+                    .detectedAt(asLocalDateTime(new Date(misfire.getDetectedAt())))
+                    .build());
+        }
+
+        return SchedulerDiagnosticsResponse.builder()
+                .fireLag(fireLag(null, schedulerDiagnostics.getOverall(), schedulerDiagnostics.getMisfireCount()))
+                .misfires(schedulerDiagnostics.getMisfireCount())
+                .worstJobs(jobLags.subList(0, Math.min(maxSize, jobLags.size())))
+                .recentMisfires(recentMisfires)
+                .threadPool(threadPool(scheduler))
+                .acquisition(acquisitionSettings(scheduler))
+                .build();
+    }
+
+    private FireLagResponse fireLag(JobKey jobKey, LagHistogram histogram, long misfires) {
+        return FireLagResponse.builder()
+                .name(jobKey == null ? null : jobKey.getName())
+                .group(jobKey == null ? null : jobKey.getGroup())
+                .count(histogram.getCount())
+                .misfires(misfires)
+                .meanMillis(histogram.getMean())
+                .p50Millis(histogram.getValueAtPercentile(50))
+                .p90Millis(histogram.getValueAtPercentile(90))
+                .p99Millis(histogram.getValueAtPercentile(99))
+                .p999Millis(histogram.getValueAtPercentile(99.9))
+                .maxMillis(histogram.getMax())
+                .build();
+    }
+
+    private ThreadPoolResponse threadPool(Scheduler scheduler) throws SchedulerException {
+        SchedulerMetaData metaData = scheduler.getMetaData();
+        int threadCount = metaData.getThreadPoolSize();
+
+        VirtualThreadPool virtualThreadPool = VirtualThreadPool.forScheduler(scheduler.getSchedulerName());
+        int running;
+        int queued = 0;
+        int queueCapacity = 0;
+        if (virtualThreadPool != null) {
+            running = virtualThreadPool.getRunningCount();
+            queued = virtualThreadPool.getQueuedCount();
+            queueCapacity = virtualThreadPool.getQueueCapacity();
         } else {
-            scheduleJob(quartzJobRequest.getName(), quartzJobRequest.getGroup(), quartzJobRequest.getStartAt(), quartzJobRequest.getIntervalInSeconds(), quartzJobRequest.getJobDataMap(), jobClass);
+            running = scheduler.getCurrentlyExecutingJobs().size();
         }
+
+        return ThreadPoolResponse.builder()
+                .type(metaData.getThreadPoolClass().getName())
+                .threadCount(threadCount)
+                .running(running)
+                .queued(queued)
+                .queueCapacity(queueCapacity)
+                .saturation(threadCount == 0 ? 0 : (double) (running + queued) / threadCount)
+                .build();
     }
 
-    private void scheduleJob(String name, String group, LocalDateTime startAt, int intervalInSeconds, JobDataMap jobDataMap, Class<? extends Job> jobClass) throws SchedulerException {
-        Trigger trigger = createSimpleTrigger(name, group, startAt, intervalInSeconds);
-        JobDetail jobDetail = createJobDetail(name, group, jobClass, jobDataMap);
+    /**
+     * The acquisition settings the running scheduler actually uses: the thread pool as reported by the
+     * scheduler itself, and every other setting as configured or else its Quartz default.
+     */
+    private Map<String, String> acquisitionSettings(Scheduler scheduler) throws SchedulerException {
+        SchedulerMetaData metaData = scheduler.getMetaData();
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("jobStore", metaData.getJobStoreClass().getName());
+        settings.put("clustered", Boolean.toString(metaData.isJobStoreClustered()));
+        settings.put("org.quartz.threadPool.threadCount", Integer.toString(metaData.getThreadPoolSize()));
+        VirtualThreadPool virtualThreadPool = VirtualThreadPool.forScheduler(scheduler.getSchedulerName());
+        if (virtualThreadPool != null) {
+            settings.put("org.quartz.threadPool.queueCapacity", Integer.toString(virtualThreadPool.getQueueCapacity()));
+        }
+        for (String[] setting : ACQUISITION_DEFAULTS) {
+            String value = quartzProperty(setting[0]);
+            settings.put(setting[0], value == null ? setting[1] : value);
+        }
+        if (JobStoreSupport.class.isAssignableFrom(metaData.getJobStoreClass())) {
+            // A JDBC store takes the trigger lock for batch acquisition whether or not this is set
+            boolean withinLock = Boolean.parseBoolean(quartzProperty("org.quartz.jobStore.acquireTriggersWithinLock"))
+                    || Integer.parseInt(settings.get("org.quartz.scheduler.batchTriggerAcquisitionMaxCount").trim()) > 1;
+            settings.put("org.quartz.jobStore.acquireTriggersWithinLock", Boolean.toString(withinLock));
+        }
+        return settings;
+    }
 
-        schedulerFactoryBean.getScheduler().scheduleJob(jobDetail, trigger);
+    private String quartzProperty(String key) {
+        Object value = quartzProperties.getProperties().get(key);
+        return value == null ? null : value.toString();
     }
 
-    private void scheduleJob(String name, String group, String cronExpression, JobDataMap jobDataMap, Class<? extends Job> jobClass) throws SchedulerException {
-        Trigger trigger = createCronTrigger(name, group, cronExpression);
-        JobDetail jobDetail = createJobDetail(name, group, jobClass, jobDataMap);
+    public void scheduleJob(QuartzJobRequest quartzJobRequest) throws SchedulerException {
+        JobDetail jobDetail = createJobDetail(quartzJobRequest);
+        Trigger trigger = createTrigger(quartzJobRequest);
 
         schedulerFactoryBean.getScheduler().scheduleJob(jobDetail, trigger);
     }
 
+    public QuartzJobBatchResponse scheduleJobs(Iterator<QuartzJobRequest> quartzJobRequests, boolean replace) throws SchedulerException {
+        Scheduler scheduler = schedulerFactoryBean.getScheduler();
+        int chunkSize = Math.max(1, schedulerProperties.getBatch().getChunkSize());
+
+        List<QuartzJobBatchItemResponse> items = new ArrayList<>();
+        Set<JobKey> jobKeys = new HashSet<>();
+        Map<JobDetail, Set<? extends Trigger>> chunk = new LinkedHashMap<>();
+        List<QuartzJobBatchItemResponse> chunkItems = new ArrayList<>(chunkSize);
+
+        int index = 0;
+        while (quartzJobRequests.hasNext()) {
+            QuartzJobRequest quartzJobRequest;
+            try {
+                quartzJobRequest = quartzJobRequests.next();
+            } catch (IllegalArgumentException e) {
+                // An unreadable request, such as a malformed line of a stream, fails only its own item
+                QuartzJobBatchItemResponse item = QuartzJobBatchItemResponse.builder().index(index++).build();
+                items.add(item);
+                failed(item, e);
+                continue;
+            }
+            QuartzJobBatchItemResponse item = QuartzJobBatchItemResponse.builder()
+                    .index(index++)
+                    .name(quartzJobRequest.getName())
+                    .group(quartzJobRequest.getGroup())
+                    .build();
+            items.add(item);
+
+            try {
+                JobDetail jobDetail = createJobDetail(quartzJobRequest);
+                Trigger trigger = createTrigger(quartzJobRequest);
+                if (!jobKeys.add(jobDetail.getKey())) {
+                    throw new SchedulerException("Duplicate job in batch: " + jobDetail.getKey());
+                }
+
+                chunk.put(jobDetail, Collections.singleton(trigger));
+                chunkItems.add(item);
+            } catch (SchedulerException | RuntimeException e) {
+                failed(item, e);
+                continue;
+            }
+
+            if (chunk.size() >= chunkSize) {
+                scheduleChunk(scheduler, chunk, chunkItems, replace);
+            }
+        }
+        scheduleChunk(scheduler, chunk, chunkItems, replace);
+
+        int scheduled = (int) items.stream().filter(item -> "SCHEDULED".equals(item.getStatus())).count();
+        return QuartzJobBatchResponse.builder()
+                .total(items.size())
+                .scheduled(scheduled)
+                .failed(items.size() - scheduled)
+                .items(items)
+                .build();
+    }
+
+    private void scheduleChunk(Scheduler scheduler, Map<JobDetail, Set<? extends Trigger>> chunk, List<QuartzJobBatchItemResponse> chunkItems, boolean replace) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            scheduleAtomically(scheduler, chunk, replace);
+            chunkItems.forEach(item -> item.setStatus("SCHEDULED"));
+        } catch (SchedulerException e) {
+            log.warn("Batch of {} jobs rejected, scheduling individually: {}", chunk.size(), e.getMessage());
+
+            int i = 0;
+            for (Map.Entry<JobDetail, Set<? extends Trigger>> entry : chunk.entrySet()) {
+                QuartzJobBatchItemResponse item = chunkItems.get(i++);
+                try {
+                    scheduler.scheduleJob(entry.getKey(), entry.getValue(), replace);
+                    item.setStatus("SCHEDULED");
+                } catch (SchedulerException ex) {
+                    failed(item, ex);
+                }
+            }
+        }
+
+        chunk.clear();
+        chunkItems.clear();
+    }
+
+    private void scheduleAtomically(Scheduler scheduler, Map<JobDetail, Set<? extends Trigger>> chunk, boolean replace) throws SchedulerException {
+        if (transactionTemplate == null) {
+            scheduler.scheduleJobs(chunk, replace);
+            return;
+        }
+
+        SchedulerException failure = transactionTemplate.execute(status -> {
+            try {
+                scheduler.scheduleJobs(chunk, replace);
+                return null;
+            } catch (SchedulerException e) {
+                status.setRollbackOnly();
+                return e;
+            }
+        });
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void failed(QuartzJobBatchItemResponse item, Exception e) {
+        item.setStatus("FAILED");
+        item.setMessage(e.getMessage());
+    }
+
     public void deleteJob(String name, String group) throws SchedulerException {
         JobKey jobKey = JobKey.jobKey(name, group);
         schedulerFactoryBean.getScheduler().deleteJob(jobKey);
@@ -141,19 +588,186 @@ public class QuartzService {
 
     public void stopJob(String name, String group) throws SchedulerException {
         JobKey jobKey = JobKey.jobKey(name, group);
-        schedulerFactoryBean.getScheduler().interrupt(jobKey);
+        if (schedulerFactoryBean.getScheduler().interrupt(jobKey)) {
+            jobEventPublisher.publish(JobEventType.INTERRUPTED, jobKey, 0, null);
+        }
+    }
+
+    public QuartzBulkResponse pauseJobs(QuartzJobSelector selector) throws SchedulerException {
+        long start = System.nanoTime();
+        Scheduler scheduler = schedulerFactoryBean.getScheduler();
+        if (isWholeGroup(selector)) {
+            GroupMatcher<JobKey> matcher = GroupMatcher.jobGroupEquals(selector.getGroup());
+            Set<JobKey> jobKeys = scheduler.getJobKeys(matcher);
+            scheduler.pauseJobs(matcher);
+            publishAll(JobEventType.PAUSED, jobKeys);
+            return bulkResponse("PAUSE", jobKeys.size(), Collections.emptyList(), start);
+        }
+        return forEachJob("PAUSE", selectJobKeys(scheduler, selector), scheduler::pauseJob, start);
+    }
+
+    public QuartzBulkResponse resumeJobs(QuartzJobSelector selector) throws SchedulerException {
+        long start = System.nanoTime();
+        Scheduler scheduler = schedulerFactoryBean.getScheduler();
+        if (isWholeGroup(selector)) {
+            GroupMatcher<JobKey> matcher = GroupMatcher.jobGroupEquals(selector.getGroup());
+            Set<JobKey> jobKeys = scheduler.getJobKeys(matcher);
+            scheduler.resumeJobs(matcher);
+            publishAll(JobEventType.RESUMED, jobKeys);
+            return bulkResponse("RESUME", jobKeys.size(), Collections.emptyList(), start);
+        }
+        return forEachJob("RESUME", selectJobKeys(scheduler, selector), scheduler::resumeJob, start);
+    }
+
+    public QuartzBulkResponse deleteJobs(QuartzJobSelector selector) throws SchedulerException {
+        long start = System.nanoTime();
+        Scheduler scheduler = schedulerFactoryBean.getScheduler();
+        int chunkSize = Math.max(1, schedulerProperties.getBatch().getChunkSize());
+
+        List<JobKey> jobKeys = selectJobKeys(scheduler, selector);
+        List<QuartzJobBatchItemResponse> failures = new ArrayList<>();
+        for (int from = 0; from < jobKeys.size(); from += chunkSize) {
+            List<JobKey> chunk = jobKeys.subList(from, Math.min(from + chunkSize, jobKeys.size()));
+            try {
+                scheduler.deleteJobs(chunk);
+            } catch (SchedulerException e) {
+                log.warn("Batch of {} deletes rejected, deleting individually: {}", chunk.size(), e.getMessage());
+                for (int i = 0; i < chunk.size(); i++) {
+                    try {
+                        scheduler.deleteJob(chunk.get(i));
+                    } catch (SchedulerException ex) {
+                        failures.add(bulkFailure(from + i, chunk.get(i), ex));
+                    }
+                }
+            }
+        }
+        return bulkResponse("DELETE", jobKeys.size(), failures, start);
+    }
+
+    public QuartzBulkResponse stopJobs(QuartzJobSelector selector) throws SchedulerException {
+        long start = System.nanoTime();
+        Scheduler scheduler = schedulerFactoryBean.getScheduler();
+        requireSelection(selector);
+
+        // Only running jobs can be interrupted, so there is no need to look at the job store
+        List<JobKey> jobKeys = new ArrayList<>();
+        for (JobKey jobKey : runningJobKeys(scheduler)) {
+            if (matches(selector, jobKey) && (selector.getStatus() == null || "RUNNING".equalsIgnoreCase(selector.getStatus()))) {
+                jobKeys.add(jobKey);
+            }
+        }
+        return forEachJob("STOP", jobKeys, jobKey -> {
+            if (scheduler.interrupt(jobKey)) {
+                jobEventPublisher.publish(JobEventType.INTERRUPTED, jobKey, 0, null);
+            }
+        }, start);
+    }
+
+    // Quartz only reports a group as paused or resumed, so the per-job events are published here
+    private void publishAll(JobEventType type, Collection<JobKey> jobKeys) {
+        for (JobKey jobKey : jobKeys) {
+            jobEventPublisher.publish(type, jobKey, 0, null);
+        }
     }
 
-    private SimpleTrigger createSimpleTrigger(String name, String group, LocalDateTime startAt, int intervalInSeconds) {
+    private boolean isWholeGroup(QuartzJobSelector selector) throws SchedulerException {
+        requireSelection(selector);
+        return hasText(selector.getGroup()) && !hasText(selector.getNamePrefix()) && !hasText(selector.getStatus());
+    }
+
+    private void requireSelection(QuartzJobSelector selector) throws SchedulerException {
+        if (!hasText(selector.getGroup()) && !hasText(selector.getNamePrefix())) {
+            throw new SchedulerException("A group or name prefix is required for bulk operations");
+        }
+    }
+
+    private boolean matches(QuartzJobSelector selector, JobKey jobKey) {
+        if (hasText(selector.getGroup()) && !selector.getGroup().equals(jobKey.getGroup())) {
+            return false;
+        }
+        return !hasText(selector.getNamePrefix()) || jobKey.getName().startsWith(selector.getNamePrefix());
+    }
+
+    private List<JobKey> selectJobKeys(Scheduler scheduler, QuartzJobSelector selector) throws SchedulerException {
+        requireSelection(selector);
+        GroupMatcher<JobKey> matcher = hasText(selector.getGroup())
+                ? GroupMatcher.jobGroupEquals(selector.getGroup())
+                : GroupMatcher.anyJobGroup();
+        Set<JobKey> runningJobKeys = hasText(selector.getStatus()) ? runningJobKeys(scheduler) : Collections.emptySet();
+
+        List<JobKey> jobKeys = new ArrayList<>();
+        for (JobKey jobKey : scheduler.getJobKeys(matcher)) {
+            if (!matches(selector, jobKey)) {
+                continue;
+            }
+            if (hasText(selector.getStatus()) && !selector.getStatus().equalsIgnoreCase(jobStatus(scheduler, jobKey, runningJobKeys))) {
+                continue;
+            }
+            jobKeys.add(jobKey);
+        }
+        return jobKeys;
+    }
+
+    private String jobStatus(Scheduler scheduler, JobKey jobKey, Set<JobKey> runningJobKeys) throws SchedulerException {
+        if (runningJobKeys.contains(jobKey)) {
+            return "RUNNING";
+        }
+        Trigger trigger = triggerOf(scheduler, jobKey);
+        if (trigger == null) {
+            return null;
+        }
+        return asStatus(scheduler.getTriggerState(trigger.getKey()));
+    }
+
+    private QuartzBulkResponse forEachJob(String action, List<JobKey> jobKeys, JobAction jobAction, long start) {
+        List<QuartzJobBatchItemResponse> failures = new ArrayList<>();
+        for (int i = 0; i < jobKeys.size(); i++) {
+            try {
+                jobAction.apply(jobKeys.get(i));
+            } catch (SchedulerException e) {
+                failures.add(bulkFailure(i, jobKeys.get(i), e));
+            }
+        }
+        return bulkResponse(action, jobKeys.size(), failures, start);
+    }
+
+    private QuartzJobBatchItemResponse bulkFailure(int index, JobKey jobKey, Exception e) {
+        QuartzJobBatchItemResponse item = QuartzJobBatchItemResponse.builder()
+                .index(index)
+                .name(jobKey.getName())
+                .group(jobKey.getGroup())
+                .build();
+        failed(item, e);
+        return item;
+    }
+
+    private QuartzBulkResponse bulkResponse(String action, int matched, List<QuartzJobBatchItemResponse> failures, long start) {
+        return QuartzBulkResponse.builder()
+                .action(action)
+                .matched(matched)
+                .succeeded(matched - failures.size())
+                .failed(failures.size())
+                .durationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .failures(failures)
+                .build();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    private SimpleTrigger createSimpleTrigger(String name, String group, LocalDateTime startAt, int intervalInSeconds, int priority) {
         if (intervalInSeconds == 0) {
             return (SimpleTrigger) TriggerBuilder.newTrigger()
                     .withIdentity(name, group)
+                    .withPriority(priority)
                     .startAt(asDate(startAt))
                     .build();
         }
 
         return TriggerBuilder.newTrigger()
                 .withIdentity(name, group)
+                .withPriority(priority)
                 .withSchedule(SimpleScheduleBuilder.simpleSchedule()
                         .withIntervalInSeconds(intervalInSeconds)
                         .repeatForever())
@@ -161,25 +775,65 @@ public class QuartzService {
                 .build();
     }
 
-    private Trigger createCronTrigger(String name, String group, String cronExpression) {
+    private Trigger createCronTrigger(String name, String group, String cronExpression, int priority) {
         return TriggerBuilder.newTrigger()
                 .withIdentity(name, group)
+                .withPriority(priority)
                 .withSchedule(CronScheduleBuilder.cronSchedule(cronExpression))
                 .build();
     }
 
-    private JobDetail createJobDetail(String name, String group, Class<? extends Job> jobClass, JobDataMap jobDataMap) {
-        if (jobDataMap == null) {
-            jobDataMap = new JobDataMap();
-            jobDataMap.put(ApplicationContext.class.getSimpleName(), context);
+    private Trigger createTrigger(QuartzJobRequest quartzJobRequest) {
+        String cronExpression = quartzJobRequest.getCronExpression();
+        if (cronExpression != null && !cronExpression.isEmpty()) {
+            return createCronTrigger(quartzJobRequest.getName(), quartzJobRequest.getGroup(), cronExpression, quartzJobRequest.getPriority());
         }
+        return createSimpleTrigger(quartzJobRequest.getName(), quartzJobRequest.getGroup(), quartzJobRequest.getStartAt(), quartzJobRequest.getIntervalInSeconds(), quartzJobRequest.getPriority());
+    }
 
-        return JobBuilder.newJob(jobClass)
-                .withIdentity(name, group)
+    private JobDetail createJobDetail(QuartzJobRequest quartzJobRequest) throws SchedulerException {
+        if (quartzJobRequest.getName() == null || quartzJobRequest.getName().isEmpty()) {
+            throw new SchedulerException("Job name is required");
+        }
+
+        JobDataMap jobDataMap = createJobDataMap(quartzJobRequest.getJobDataMap());
+        if (quartzJobRequest.getLane() != null && !quartzJobRequest.getLane().isEmpty()) {
+            jobDataMap.put(VirtualThreadPool.LANE_KEY, quartzJobRequest.getLane());
+        }
+
+        return quartzJobRegistry.newJob(quartzJobRequest.getJobClass())
+                .withIdentity(quartzJobRequest.getName(), quartzJobRequest.getGroup())
                 .setJobData(jobDataMap)
                 .build();
     }
 
+    // Only strings are stored, so the map fits org.quartz.jobStore.useProperties and jobs read typed
+    // values back with JobDataMap.getIntValue and friends.
+    private JobDataMap createJobDataMap(Map<String, Object> jobData) throws SchedulerException {
+        JobDataMap jobDataMap = new JobDataMap();
+        if (jobData == null) {
+            return jobDataMap;
+        }
+
+        SchedulerProperties.JobData limits = schedulerProperties.getJobData();
+        if (jobData.size() > limits.getMaxEntries()) {
+            throw new SchedulerException("Job data has " + jobData.size() + " entries, at most " + limits.getMaxEntries() + " are allowed");
+        }
+        for (Map.Entry<String, Object> entry : jobData.entrySet()) {
+            Object value = entry.getValue();
+            if (!(value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character)) {
+                throw new SchedulerException("Job data '" + entry.getKey() + "' must be a string, character, number or boolean");
+            }
+
+            String text = value.toString();
+            if (text.length() > limits.getMaxValueLength()) {
+                throw new SchedulerException("Job data '" + entry.getKey() + "' is longer than " + limits.getMaxValueLength() + " characters");
+            }
+            jobDataMap.put(entry.getKey(), text);
+        }
+        return jobDataMap;
+    }
+
     private LocalDateTime asLocalDateTime(Date date) {
         if (date == null) {
             return null;
@@ -194,4 +848,10 @@ public class QuartzService {
         return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
     }
 
+    private interface JobAction {
+
+        void apply(JobKey jobKey) throws SchedulerException;
+
+    }
+
 }
@@ -0,0 +1,115 @@
+package com.example.springboot;
+
+import com.example.springboot.dto.QuartzJobBatchResponse;
+import com.example.springboot.dto.QuartzJobRequest;
+import com.example.springboot.job.ChunkedJob;
+import com.example.springboot.job.QuartzSimpleJob;
+import com.example.springboot.service.QuartzService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.listeners.JobListenerSupport;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts several application instances with the {@code cluster} profile against one shared database
+ * and checks that every job fires exactly once across the cluster. Throughput per node count is
+ * measured by {@code ClusterThroughputBenchmark}.
+ */
+public class ClusteredSchedulerIntegrationTest {
+
+    private static final int NODE_COUNT = 4;
+
+    private static final int JOB_COUNT = 40;
+
+    private final Map<JobKey, String> fired = new ConcurrentHashMap<>();
+
+    private final AtomicInteger duplicates = new AtomicInteger();
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+        nodes.clear();
+    }
+
+    @Test
+    public void clusterFiresEveryJobExactlyOnce() throws Exception {
+        String url = "jdbc:h2:mem:quartz-cluster-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        for (int i = 0; i < NODE_COUNT; i++) {
+            nodes.add(startNode(url, i));
+        }
+
+        QuartzService quartzService = nodes.get(0).getBean(QuartzService.class);
+        QuartzJobBatchResponse response = quartzService.scheduleJobs(jobRequests().iterator(), false);
+        assertThat(response.getScheduled()).isEqualTo(JOB_COUNT);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (fired.size() < JOB_COUNT && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+
+        assertThat(fired).hasSize(JOB_COUNT);
+        assertThat(duplicates.get()).isZero();
+        assertThat(Set.copyOf(fired.values()).size()).isGreaterThan(1);
+    }
+
+    private ConfigurableApplicationContext startNode(String url, int node) throws SchedulerException {
+        // Two workers and no queue per node, so that no node can take the whole batch for itself
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .profiles("cluster")
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + url,
+                        "--spring.quartz.jdbc.initialize-schema=" + (node == 0 ? "always" : "never"),
+                        "--spring.quartz.properties.org.quartz.scheduler.instanceId=node-" + node,
+                        "--spring.quartz.properties.org.quartz.scheduler.idleWaitTime=1000",
+                        "--spring.quartz.properties.org.quartz.threadPool.threadCount=2",
+                        "--spring.quartz.properties.org.quartz.threadPool.queueCapacity=0");
+
+        context.getBean(Scheduler.class).getListenerManager().addJobListener(new JobListenerSupport() {
+            @Override
+            public String getName() {
+                return "recording";
+            }
+
+            @Override
+            public void jobToBeExecuted(JobExecutionContext jobExecutionContext) {
+                if (fired.putIfAbsent(jobExecutionContext.getJobDetail().getKey(), "node-" + node) != null) {
+                    duplicates.incrementAndGet();
+                }
+            }
+        });
+        return context;
+    }
+
+    private static List<QuartzJobRequest> jobRequests() {
+        List<QuartzJobRequest> quartzJobRequests = new ArrayList<>(JOB_COUNT);
+        for (int i = 0; i < JOB_COUNT; i++) {
+            QuartzJobRequest quartzJobRequest = new QuartzJobRequest();
+            quartzJobRequest.setName("job-" + i);
+            quartzJobRequest.setGroup("cluster");
+            quartzJobRequest.setJobClass(QuartzSimpleJob.class.getSimpleName());
+            // Resume at the last chunk, so that each run takes a second
+            quartzJobRequest.setJobDataMap(Map.of(ChunkedJob.CHECKPOINT_KEY, "9"));
+            quartzJobRequests.add(quartzJobRequest);
+        }
+        return quartzJobRequests;
+    }
+
+}
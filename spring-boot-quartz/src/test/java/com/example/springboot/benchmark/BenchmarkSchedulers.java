@@ -0,0 +1,114 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.config.SchedulerProperties;
+import com.example.springboot.dto.QuartzJobRequest;
+import com.example.springboot.event.JobEventLogger;
+import com.example.springboot.event.JobEventPublisher;
+import com.example.springboot.event.JobEventStream;
+import com.example.springboot.job.QuartzSimpleJob;
+import com.example.springboot.metrics.SchedulerDiagnostics;
+import com.example.springboot.service.FireTimeIndex;
+import com.example.springboot.service.JobExecutionHistory;
+import com.example.springboot.service.JobListCache;
+import com.example.springboot.service.QuartzJobRegistry;
+import com.example.springboot.service.QuartzService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.quartz.JobStoreType;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+final class BenchmarkSchedulers {
+
+    static final int GROUP_COUNT = 10;
+
+    private BenchmarkSchedulers() {
+    }
+
+    static SchedulerFactoryBean createScheduler(Properties quartzProperties) throws Exception {
+        return createScheduler(quartzProperties, null);
+    }
+
+    static SchedulerFactoryBean createScheduler(Properties quartzProperties, DataSource dataSource) throws Exception {
+        SchedulerFactoryBean schedulerFactoryBean = new SchedulerFactoryBean();
+        schedulerFactoryBean.setSchedulerName("Benchmark-" + UUID.randomUUID());
+        schedulerFactoryBean.setQuartzProperties(quartzProperties);
+        schedulerFactoryBean.setDataSource(dataSource);
+        schedulerFactoryBean.setAutoStartup(false);
+        schedulerFactoryBean.afterPropertiesSet();
+        return schedulerFactoryBean;
+    }
+
+    static HikariDataSource createDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        new ResourceDatabasePopulator(new ClassPathResource("org/quartz/impl/jdbcjobstore/tables_h2.sql")).execute(dataSource);
+        return dataSource;
+    }
+
+    static SchedulerFactoryBean createScheduler() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        return createScheduler(properties);
+    }
+
+    static QuartzService createQuartzService(SchedulerFactoryBean schedulerFactoryBean) {
+        return createQuartzService(schedulerFactoryBean, null);
+    }
+
+    static QuartzService createQuartzService(SchedulerFactoryBean schedulerFactoryBean, DataSource dataSource) {
+        SchedulerProperties schedulerProperties = new SchedulerProperties();
+        QuartzProperties quartzProperties = new QuartzProperties();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (dataSource != null) {
+            quartzProperties.setJobStoreType(JobStoreType.JDBC);
+            beanFactory.addBean("transactionManager", new DataSourceTransactionManager(dataSource));
+        }
+        return new QuartzService(schedulerFactoryBean, schedulerProperties,
+                new QuartzJobRegistry(), new FireTimeIndex(), new JobListCache(schedulerProperties),
+                new JobEventPublisher(new JobEventLogger(schedulerProperties), new JobEventStream(schedulerProperties)),
+                new SchedulerDiagnostics(schedulerProperties), quartzProperties, jobExecutionHistory(schedulerProperties),
+                beanFactory.getBeanProvider(PlatformTransactionManager.class));
+    }
+
+    private static JobExecutionHistory jobExecutionHistory(SchedulerProperties schedulerProperties) {
+        try {
+            return new JobExecutionHistory(schedulerProperties);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static QuartzJobRequest jobRequest(String name, String group) {
+        QuartzJobRequest quartzJobRequest = new QuartzJobRequest();
+        quartzJobRequest.setName(name);
+        quartzJobRequest.setGroup(group);
+        quartzJobRequest.setJobClass(QuartzSimpleJob.class.getName());
+        quartzJobRequest.setStartAt(LocalDateTime.now().plusYears(1));
+        quartzJobRequest.setIntervalInSeconds(60);
+        return quartzJobRequest;
+    }
+
+    static List<QuartzJobRequest> jobRequests(String prefix, int count) {
+        List<QuartzJobRequest> quartzJobRequests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            quartzJobRequests.add(jobRequest(prefix + i, "group-" + (i % GROUP_COUNT)));
+        }
+        return quartzJobRequests;
+    }
+
+}
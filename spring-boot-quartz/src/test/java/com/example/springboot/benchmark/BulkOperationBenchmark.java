@@ -0,0 +1,144 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.dto.QuartzBulkResponse;
+import com.example.springboot.dto.QuartzJobRequest;
+import com.example.springboot.dto.QuartzJobSelector;
+import com.example.springboot.service.QuartzService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Draining one tenant group through the bulk selector operations compared to the per-job loop that
+ * clients used to run against the single-job endpoints, on the in-memory and on a JDBC job store.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkOperationBenchmark {
+
+    private static final String TENANT = "tenant";
+
+    @Param({"100", "1000", "10000"})
+    private int tenantSize;
+
+    @Param({"ram", "jdbc"})
+    private String store;
+
+    private HikariDataSource dataSource;
+
+    private SchedulerFactoryBean schedulerFactoryBean;
+
+    private QuartzService quartzService;
+
+    private List<QuartzJobRequest> tenantJobs;
+
+    private List<JobKey> tenantJobKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        if ("jdbc".equals(store)) {
+            dataSource = BenchmarkSchedulers.createDataSource();
+        }
+        schedulerFactoryBean = BenchmarkSchedulers.createScheduler(properties, dataSource);
+        quartzService = BenchmarkSchedulers.createQuartzService(schedulerFactoryBean, dataSource);
+        // Unrelated jobs, so that selecting the tenant is not free
+        quartzService.scheduleJobs(BenchmarkSchedulers.jobRequests("other-", 10000).iterator(), false);
+
+        tenantJobs = new ArrayList<>(tenantSize);
+        tenantJobKeys = new ArrayList<>(tenantSize);
+        for (int i = 0; i < tenantSize; i++) {
+            tenantJobs.add(BenchmarkSchedulers.jobRequest("job-" + i, TENANT));
+            tenantJobKeys.add(JobKey.jobKey("job-" + i, TENANT));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void scheduleTenant() throws SchedulerException {
+        quartzService.scheduleJobs(tenantJobs.iterator(), true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SchedulerException {
+        schedulerFactoryBean.destroy();
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public QuartzBulkResponse pauseAndResumeGroup() throws SchedulerException {
+        quartzService.pauseJobs(group());
+        return quartzService.resumeJobs(group());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public QuartzBulkResponse pauseAndResumeByPrefix() throws SchedulerException {
+        quartzService.pauseJobs(prefix());
+        return quartzService.resumeJobs(prefix());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public void pauseAndResumeOneByOne() throws SchedulerException {
+        for (JobKey jobKey : tenantJobKeys) {
+            quartzService.pauseJob(jobKey.getName(), jobKey.getGroup());
+        }
+        for (JobKey jobKey : tenantJobKeys) {
+            quartzService.resumeJob(jobKey.getName(), jobKey.getGroup());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public QuartzBulkResponse deleteGroup() throws SchedulerException {
+        return quartzService.deleteJobs(group());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public void deleteOneByOne() throws SchedulerException {
+        for (JobKey jobKey : tenantJobKeys) {
+            quartzService.deleteJob(jobKey.getName(), jobKey.getGroup());
+        }
+    }
+
+    private static QuartzJobSelector group() {
+        QuartzJobSelector selector = new QuartzJobSelector();
+        selector.setGroup(TENANT);
+        return selector;
+    }
+
+    private static QuartzJobSelector prefix() {
+        QuartzJobSelector selector = new QuartzJobSelector();
+        selector.setGroup(TENANT);
+        selector.setNamePrefix("job-");
+        return selector;
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.example.springboot.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for a clustered JDBC job store to fire a burst of jobs with one node compared to four nodes
+ * sharing the same database.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClusterThroughputBenchmark {
+
+    private static final int JOB_COUNT = 200;
+
+    private static final int THREADS_PER_NODE = 2;
+
+    private static volatile CountDownLatch remaining;
+
+    @Param({"1", "4"})
+    private int nodeCount;
+
+    private HikariDataSource dataSource;
+
+    private final List<SchedulerFactoryBean> nodes = new ArrayList<>();
+
+    private Map<JobDetail, Set<? extends Trigger>> jobs;
+
+    @Setup(Level.Invocation)
+    public void startCluster() throws Exception {
+        dataSource = BenchmarkSchedulers.createDataSource();
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(startNode("node-" + i));
+        }
+
+        jobs = new LinkedHashMap<>();
+        for (int i = 0; i < JOB_COUNT; i++) {
+            JobDetail jobDetail = JobBuilder.newJob(SleepingJob.class).withIdentity("job-" + i, "cluster").build();
+            Trigger trigger = TriggerBuilder.newTrigger().withIdentity("job-" + i, "cluster").startNow().build();
+            jobs.put(jobDetail, Collections.singleton(trigger));
+        }
+        remaining = new CountDownLatch(JOB_COUNT);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopCluster() throws SchedulerException {
+        for (SchedulerFactoryBean node : nodes) {
+            node.destroy();
+        }
+        nodes.clear();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public boolean fireAll() throws Exception {
+        nodes.get(0).getScheduler().scheduleJobs(jobs, false);
+        return remaining.await(60, TimeUnit.SECONDS);
+    }
+
+    private SchedulerFactoryBean startNode(String instanceId) throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceId", instanceId);
+        properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", "10");
+        properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionFireAheadTimeWindow", "100");
+        properties.setProperty("org.quartz.scheduler.idleWaitTime", "1000");
+        properties.setProperty("org.quartz.threadPool.threadCount", Integer.toString(THREADS_PER_NODE));
+        properties.setProperty("org.quartz.jobStore.isClustered", "true");
+        properties.setProperty("org.quartz.jobStore.clusterCheckinInterval", "1000");
+        properties.setProperty("org.quartz.jobStore.acquireTriggersWithinLock", "true");
+        properties.setProperty("org.quartz.jobStore.driverDelegateClass", "org.quartz.impl.jdbcjobstore.StdJDBCDelegate");
+
+        SchedulerFactoryBean schedulerFactoryBean = new SchedulerFactoryBean();
+        schedulerFactoryBean.setSchedulerName("ClusteredScheduler");
+        schedulerFactoryBean.setDataSource(dataSource);
+        schedulerFactoryBean.setQuartzProperties(properties);
+        schedulerFactoryBean.setWaitForJobsToCompleteOnShutdown(true);
+        schedulerFactoryBean.afterPropertiesSet();
+        schedulerFactoryBean.start();
+
+        return schedulerFactoryBean;
+    }
+
+    public static class SleepingJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) throws JobExecutionException {
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+            } catch (InterruptedException e) {
+                throw new JobExecutionException(e);
+            } finally {
+                remaining.countDown();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.example.springboot.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.CronExpression;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CronExpressionBenchmark {
+
+    @Param({"0 */5 * * * ?", "0 0 12 ? * MON-FRI", "0 15 10 L * ?"})
+    private String cronExpression;
+
+    private CronExpression compiled;
+
+    private Date now;
+
+    @Setup
+    public void setUp() throws ParseException {
+        compiled = new CronExpression(cronExpression);
+        now = new Date();
+    }
+
+    @Benchmark
+    public CronExpression parse() throws ParseException {
+        return new CronExpression(cronExpression);
+    }
+
+    @Benchmark
+    public Date nextValidTimeAfter() {
+        return compiled.getNextValidTimeAfter(now);
+    }
+
+}
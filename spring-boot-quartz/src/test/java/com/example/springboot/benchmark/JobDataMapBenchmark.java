@@ -0,0 +1,160 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.job.QuartzSimpleJob;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.JobBuilder;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC job store with the job data Java-serialized as typed objects, which is what client payloads used
+ * to be stored as, compared to string values stored with {@code org.quartz.jobStore.useProperties}.
+ * Loading a job detail is the store read that every fired trigger pays for. The average and maximum
+ * size of the {@code JOB_DATA} column are printed after setup.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JobDataMapBenchmark {
+
+    private static final int STORED_JOBS = 1000;
+
+    @Param({"serialized", "properties"})
+    private String encoding;
+
+    private HikariDataSource dataSource;
+
+    private SchedulerFactoryBean schedulerFactoryBean;
+
+    private Scheduler scheduler;
+
+    private List<JobKey> storedJobKeys;
+
+    private List<JobKey> addedJobKeys;
+
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = BenchmarkSchedulers.createDataSource();
+
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty("org.quartz.jobStore.useProperties", String.valueOf("properties".equals(encoding)));
+        schedulerFactoryBean = BenchmarkSchedulers.createScheduler(properties, dataSource);
+        scheduler = schedulerFactoryBean.getScheduler();
+
+        storedJobKeys = new ArrayList<>(STORED_JOBS);
+        for (int i = 0; i < STORED_JOBS; i++) {
+            JobDetail jobDetail = jobDetail("stored-" + i);
+            scheduler.scheduleJob(jobDetail, trigger(jobDetail));
+            storedJobKeys.add(jobDetail.getKey());
+        }
+        addedJobKeys = new ArrayList<>();
+
+        printRowSize();
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeAddedJobs() throws SchedulerException {
+        scheduler.deleteJobs(addedJobKeys);
+        addedJobKeys.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SchedulerException {
+        schedulerFactoryBean.destroy();
+        dataSource.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void scheduleJob() throws SchedulerException {
+        JobDetail jobDetail = jobDetail("added-" + sequence++);
+        scheduler.scheduleJob(jobDetail, trigger(jobDetail));
+        addedJobKeys.add(jobDetail.getKey());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public int loadJobDetail() throws SchedulerException {
+        JobKey jobKey = storedJobKeys.get(ThreadLocalRandom.current().nextInt(storedJobKeys.size()));
+        JobDataMap jobDataMap = scheduler.getJobDetail(jobKey).getJobDataMap();
+        return jobDataMap.getIntValue("batchSize") + (jobDataMap.getBooleanValue("dryRun") ? 1 : 0);
+    }
+
+    private JobDetail jobDetail(String name) {
+        // What Jackson produced for a typical client payload, before and after conversion to strings
+        JobDataMap jobDataMap = new JobDataMap();
+        if ("properties".equals(encoding)) {
+            jobDataMap.put("tenant", "tenant-42");
+            jobDataMap.put("region", "eu-west-1");
+            jobDataMap.put("batchSize", "500");
+            jobDataMap.put("threshold", "0.75");
+            jobDataMap.put("dryRun", "false");
+            jobDataMap.put("lane", "reports");
+        } else {
+            jobDataMap.put("tenant", "tenant-42");
+            jobDataMap.put("region", "eu-west-1");
+            jobDataMap.put("batchSize", Integer.valueOf(500));
+            jobDataMap.put("threshold", Double.valueOf(0.75));
+            jobDataMap.put("dryRun", Boolean.FALSE);
+            jobDataMap.put("lane", "reports");
+        }
+
+        return JobBuilder.newJob(QuartzSimpleJob.class)
+                .withIdentity(name, "group-" + Math.floorMod(name.hashCode(), BenchmarkSchedulers.GROUP_COUNT))
+                .setJobData(jobDataMap)
+                .build();
+    }
+
+    private static Trigger trigger(JobDetail jobDetail) {
+        return TriggerBuilder.newTrigger()
+                .forJob(jobDetail)
+                .withIdentity(jobDetail.getKey().getName(), jobDetail.getKey().getGroup())
+                .startAt(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(365)))
+                .build();
+    }
+
+    private void printRowSize() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT AVG(OCTET_LENGTH(JOB_DATA)), MAX(OCTET_LENGTH(JOB_DATA)) FROM QRTZ_JOB_DETAILS")) {
+            resultSet.next();
+            System.out.printf("%n%s JOB_DATA: avg %d bytes, max %d bytes%n", encoding, resultSet.getLong(1), resultSet.getLong(2));
+        }
+    }
+
+}
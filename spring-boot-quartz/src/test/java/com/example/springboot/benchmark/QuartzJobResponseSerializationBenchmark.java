@@ -0,0 +1,62 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.dto.QuartzJobResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuartzJobResponseSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int jobCount;
+
+    private ObjectMapper objectMapper;
+
+    private List<QuartzJobResponse> jobList;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime now = LocalDateTime.now();
+        jobList = new ArrayList<>(jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            jobList.add(QuartzJobResponse.builder()
+                    .name("job-" + i)
+                    .group("group-" + (i % 10))
+                    .status("SCHEDULED")
+                    .startAt(now)
+                    .prevFireAt(now.minusMinutes(1))
+                    .nextFireAt(now.plusMinutes(1))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeJobList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(jobList);
+    }
+
+}
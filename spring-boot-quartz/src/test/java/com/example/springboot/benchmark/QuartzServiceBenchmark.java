@@ -0,0 +1,239 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.dto.QuartzJobFilter;
+import com.example.springboot.dto.QuartzJobPageResponse;
+import com.example.springboot.dto.QuartzJobResponse;
+import com.example.springboot.service.QuartzService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class QuartzServiceBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"100", "10000", "100000"})
+    private int jobCount;
+
+    @Param({"ram", "jdbc"})
+    private String store;
+
+    private HikariDataSource dataSource;
+
+    private SchedulerFactoryBean schedulerFactoryBean;
+
+    private QuartzService quartzService;
+
+    private List<JobKey> jobKeys;
+
+    private List<JobKey> addedJobKeys;
+
+    private List<String> cursors;
+
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        if ("jdbc".equals(store)) {
+            dataSource = BenchmarkSchedulers.createDataSource();
+        }
+        schedulerFactoryBean = BenchmarkSchedulers.createScheduler(properties, dataSource);
+        quartzService = BenchmarkSchedulers.createQuartzService(schedulerFactoryBean, dataSource);
+        quartzService.scheduleJobs(BenchmarkSchedulers.jobRequests("job-", jobCount).iterator(), false);
+
+        // Started, so that listing pays for the executing-jobs lookup as it does in the application
+        Scheduler scheduler = schedulerFactoryBean.getScheduler();
+        scheduler.start();
+
+        jobKeys = new ArrayList<>(jobCount);
+        for (String group : scheduler.getJobGroupNames()) {
+            jobKeys.addAll(scheduler.getJobKeys(GroupMatcher.jobGroupEquals(group)));
+        }
+        addedJobKeys = new ArrayList<>();
+
+        cursors = new ArrayList<>();
+        cursors.add(null);
+        String cursor = quartzService.scheduleJobPage(new QuartzJobFilter(), null, PAGE_SIZE).getNextCursor();
+        while (cursor != null) {
+            cursors.add(cursor);
+            cursor = quartzService.scheduleJobPage(new QuartzJobFilter(), cursor, PAGE_SIZE).getNextCursor();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeAddedJobs() throws SchedulerException {
+        schedulerFactoryBean.getScheduler().deleteJobs(addedJobKeys);
+        addedJobKeys.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SchedulerException {
+        schedulerFactoryBean.destroy();
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public List<QuartzJobResponse> scheduleJobList() throws SchedulerException {
+        return quartzService.scheduleJobList();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public QuartzJobPageResponse scheduleJobPage() throws SchedulerException {
+        String cursor = cursors.get(ThreadLocalRandom.current().nextInt(cursors.size()));
+        return quartzService.scheduleJobPage(new QuartzJobFilter(), cursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public List<QuartzJobResponse> cachedScheduleJobList() throws SchedulerException {
+        return quartzService.jobListSnapshot().getJobs(new QuartzJobFilter());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public List<QuartzJobResponse> legacyScheduleJobList() throws SchedulerException {
+        return legacyScheduleJobList(schedulerFactoryBean.getScheduler());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void scheduleJob() throws SchedulerException {
+        String name = "added-" + sequence++;
+        quartzService.scheduleJob(BenchmarkSchedulers.jobRequest(name, "added"));
+        addedJobKeys.add(JobKey.jobKey(name, "added"));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void scheduleJobsBatch() throws SchedulerException {
+        String prefix = "batch-" + sequence++ + "-";
+        quartzService.scheduleJobs(BenchmarkSchedulers.jobRequests(prefix, BATCH_SIZE).iterator(), false);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            addedJobKeys.add(JobKey.jobKey(prefix + i, "group-" + (i % BenchmarkSchedulers.GROUP_COUNT)));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void scheduleJobsOneByOne() throws SchedulerException {
+        String prefix = "single-" + sequence++ + "-";
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String group = "group-" + (i % BenchmarkSchedulers.GROUP_COUNT);
+            quartzService.scheduleJob(BenchmarkSchedulers.jobRequest(prefix + i, group));
+            addedJobKeys.add(JobKey.jobKey(prefix + i, group));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void pauseAndResumeJob() throws SchedulerException {
+        JobKey jobKey = randomJobKey();
+        quartzService.pauseJob(jobKey.getName(), jobKey.getGroup());
+        quartzService.resumeJob(jobKey.getName(), jobKey.getGroup());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void deleteAndRescheduleJob() throws SchedulerException {
+        JobKey jobKey = randomJobKey();
+        quartzService.deleteJob(jobKey.getName(), jobKey.getGroup());
+        quartzService.scheduleJob(BenchmarkSchedulers.jobRequest(jobKey.getName(), jobKey.getGroup()));
+    }
+
+    private JobKey randomJobKey() {
+        return jobKeys.get(ThreadLocalRandom.current().nextInt(jobKeys.size()));
+    }
+
+    private static List<QuartzJobResponse> legacyScheduleJobList(Scheduler scheduler) throws SchedulerException {
+        List<QuartzJobResponse> jobList = new ArrayList<>();
+
+        for (String jobGroupName : scheduler.getJobGroupNames()) {
+            for (JobKey jobKey : scheduler.getJobKeys(GroupMatcher.jobGroupEquals(jobGroupName))) {
+                List<? extends Trigger> triggers = scheduler.getTriggersOfJob(jobKey);
+                if (triggers == null || triggers.isEmpty()) {
+                    continue;
+                }
+
+                boolean isRunning = false;
+                List<JobExecutionContext> currentJobs = scheduler.getCurrentlyExecutingJobs();
+                if (currentJobs != null) {
+                    for (JobExecutionContext currentJob : currentJobs) {
+                        if (jobKey.getName().equals(currentJob.getJobDetail().getKey().getName())) {
+                            isRunning = true;
+                            break;
+                        }
+                    }
+                }
+
+                Trigger trigger = triggers.get(0);
+
+                String status;
+                if (isRunning) {
+                    status = "RUNNING";
+                } else {
+                    Trigger.TriggerState triggerState = scheduler.getTriggerState(trigger.getKey());
+                    status = Trigger.TriggerState.NORMAL.equals(triggerState) ? "SCHEDULED" : triggerState.name();
+                }
+
+                jobList.add(QuartzJobResponse.builder()
+                        .name(jobKey.getName())
+                        .group(jobKey.getGroup())
+                        .status(status)
+                        .startAt(asLocalDateTime(trigger.getStartTime()))
+                        .prevFireAt(asLocalDateTime(trigger.getPreviousFireTime()))
+                        .nextFireAt(asLocalDateTime(trigger.getNextFireTime()))
+                        .build());
+            }
+        }
+
+        return jobList;
+    }
+
+    private static LocalDateTime asLocalDateTime(Date date) {
+        return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.example.springboot.benchmark;
+
+import com.example.springboot.config.VirtualThreadPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Time to drain a burst of jobs that only sleep, with the platform-thread
+ * {@code SimpleThreadPool} against {@link VirtualThreadPool}. The peak number of jobs
+ * sleeping at the same time is printed after every iteration.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ThreadPoolBenchmark {
+
+    private static final int JOB_COUNT = 2000;
+
+    private static final long SLEEP_MILLIS = 100;
+
+    private static final AtomicInteger RUNNING = new AtomicInteger();
+
+    private static final AtomicInteger PEAK = new AtomicInteger();
+
+    private static volatile CountDownLatch completed;
+
+    @Param({"simple", "virtual"})
+    private String threadPool;
+
+    private SchedulerFactoryBean schedulerFactoryBean;
+
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", "100");
+        if ("virtual".equals(threadPool)) {
+            properties.setProperty("org.quartz.threadPool.class", VirtualThreadPool.class.getName());
+            properties.setProperty("org.quartz.threadPool.threadCount", Integer.toString(JOB_COUNT));
+        } else {
+            properties.setProperty("org.quartz.threadPool.threadCount", "50");
+        }
+
+        schedulerFactoryBean = BenchmarkSchedulers.createScheduler(properties);
+        schedulerFactoryBean.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.printf("%n%s thread pool: peak concurrent sleeping jobs = %d%n", threadPool, PEAK.getAndSet(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SchedulerException {
+        schedulerFactoryBean.destroy();
+    }
+
+    @Benchmark
+    public void drainSleepingJobs() throws SchedulerException, InterruptedException {
+        completed = new CountDownLatch(JOB_COUNT);
+
+        String group = "burst-" + sequence++;
+        Map<JobDetail, Set<? extends Trigger>> jobs = new LinkedHashMap<>();
+        for (int i = 0; i < JOB_COUNT; i++) {
+            JobDetail jobDetail = JobBuilder.newJob(SleepingJob.class).withIdentity("job-" + i, group).build();
+            Trigger trigger = TriggerBuilder.newTrigger().withIdentity("job-" + i, group).startNow().build();
+            jobs.put(jobDetail, Collections.singleton(trigger));
+        }
+        schedulerFactoryBean.getScheduler().scheduleJobs(jobs, false);
+
+        completed.await();
+    }
+
+    public static class SleepingJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) throws JobExecutionException {
+            PEAK.accumulateAndGet(RUNNING.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(SLEEP_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                RUNNING.decrementAndGet();
+                completed.countDown();
+            }
+        }
+
+    }
+
+}
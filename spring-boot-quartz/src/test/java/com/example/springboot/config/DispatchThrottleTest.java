@@ -0,0 +1,206 @@
+package com.example.springboot.config;
+
+import com.example.springboot.job.QuartzSimpleJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.JobExecutionContextImpl;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DispatchThrottleTest {
+
+    private final SchedulerProperties schedulerProperties = new SchedulerProperties();
+
+    private Scheduler scheduler;
+
+    @BeforeEach
+    public void setUp() throws SchedulerException {
+        Properties properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, "throttle-" + UUID.randomUUID());
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+    }
+
+    @AfterEach
+    public void tearDown() throws SchedulerException {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void coalescesFiresOfARunningJobIntoOneCatchUpRun() throws SchedulerException {
+        schedulerProperties.getDispatch().setCoalesce(true);
+        DispatchThrottle dispatchThrottle = new DispatchThrottle(schedulerProperties);
+        JobDetail job = storeJob("job", "group");
+
+        JobExecutionContext running = context(job, repeating(job));
+        assertThat(dispatchThrottle.acquire(running.getTrigger(), running)).isEqualTo(DispatchThrottle.Decision.RUN);
+        for (int i = 0; i < 3; i++) {
+            JobExecutionContext overlapping = context(job, repeating(job));
+            assertThat(dispatchThrottle.acquire(overlapping.getTrigger(), overlapping)).isEqualTo(DispatchThrottle.Decision.COALESCED);
+            assertThat(dispatchThrottle.decision(overlapping)).isEqualTo(DispatchThrottle.Decision.COALESCED);
+        }
+
+        dispatchThrottle.release(running);
+
+        List<? extends Trigger> catchUps = scheduler.getTriggersOfJob(job.getKey());
+        assertThat(catchUps).hasSize(1);
+        assertThat(catchUps.get(0).getKey().getGroup()).isEqualTo(DispatchThrottle.RESERVED_GROUP);
+        assertThat(DispatchThrottle.isReserved(catchUps.get(0))).isTrue();
+        JobExecutionContext catchUp = context(job, catchUps.get(0));
+        assertThat(dispatchThrottle.acquire(catchUp.getTrigger(), catchUp)).isEqualTo(DispatchThrottle.Decision.RUN);
+    }
+
+    @Test
+    public void runsEveryFireWhenDispatchIsDisabled() throws SchedulerException {
+        DispatchThrottle dispatchThrottle = new DispatchThrottle(schedulerProperties);
+        JobDetail job = storeJob("job", "group");
+
+        for (int i = 0; i < 3; i++) {
+            JobExecutionContext context = context(job, repeating(job));
+            assertThat(dispatchThrottle.acquire(context.getTrigger(), context)).isEqualTo(DispatchThrottle.Decision.RUN);
+            assertThat(dispatchThrottle.decision(context)).isEqualTo(DispatchThrottle.Decision.RUN);
+        }
+
+        // A job that asks for coalescing is still tracked
+        JobDetail coalescing = JobBuilder.newJob(QuartzSimpleJob.class).withIdentity(JobKey.jobKey("coalescing", "group"))
+                .usingJobData(DispatchThrottle.COALESCE_KEY, true).storeDurably().build();
+        scheduler.addJob(coalescing, false);
+        JobExecutionContext running = context(coalescing, repeating(coalescing));
+        assertThat(dispatchThrottle.acquire(running.getTrigger(), running)).isEqualTo(DispatchThrottle.Decision.RUN);
+        JobExecutionContext overlapping = context(coalescing, repeating(coalescing));
+        assertThat(dispatchThrottle.acquire(overlapping.getTrigger(), overlapping)).isEqualTo(DispatchThrottle.Decision.COALESCED);
+    }
+
+    @Test
+    public void releasesOnlyOncePerRun() throws SchedulerException {
+        schedulerProperties.getDispatch().setCoalesce(true);
+        DispatchThrottle dispatchThrottle = new DispatchThrottle(schedulerProperties);
+        JobDetail job = storeJob("job", "group");
+
+        JobExecutionContext first = context(job, repeating(job));
+        dispatchThrottle.acquire(first.getTrigger(), first);
+        dispatchThrottle.release(first);
+        dispatchThrottle.release(first);
+
+        JobExecutionContext second = context(job, repeating(job));
+        assertThat(dispatchThrottle.acquire(second.getTrigger(), second)).isEqualTo(DispatchThrottle.Decision.RUN);
+
+        // Releasing a fire that never ran must not end the running execution
+        JobExecutionContext coalesced = context(job, repeating(job));
+        assertThat(dispatchThrottle.acquire(coalesced.getTrigger(), coalesced)).isEqualTo(DispatchThrottle.Decision.COALESCED);
+        dispatchThrottle.release(coalesced);
+
+        JobExecutionContext third = context(job, repeating(job));
+        assertThat(dispatchThrottle.acquire(third.getTrigger(), third)).isEqualTo(DispatchThrottle.Decision.COALESCED);
+    }
+
+    @Test
+    public void skipsRepeatingFiresWithoutATokenButRunsLastFires() throws SchedulerException {
+        schedulerProperties.getDispatch().setMaxStartsPerSecond(0.001);
+        schedulerProperties.getDispatch().setBurst(2);
+        DispatchThrottle dispatchThrottle = new DispatchThrottle(schedulerProperties);
+        JobDetail job = storeJob("job", "group");
+
+        for (int i = 0; i < 2; i++) {
+            JobExecutionContext context = context(job, repeating(job));
+            assertThat(dispatchThrottle.acquire(context.getTrigger(), context)).isEqualTo(DispatchThrottle.Decision.RUN);
+        }
+        JobExecutionContext limited = context(job, repeating(job));
+        assertThat(dispatchThrottle.acquire(limited.getTrigger(), limited)).isEqualTo(DispatchThrottle.Decision.SKIPPED);
+
+        JobExecutionContext last = context(job, oneShot(job));
+        assertThat(dispatchThrottle.acquire(last.getTrigger(), last)).isEqualTo(DispatchThrottle.Decision.RUN);
+    }
+
+    @Test
+    public void limitsEachGroupSeparately() throws SchedulerException {
+        schedulerProperties.getDispatch().setGroupMaxStartsPerSecond(Map.of("limited", 0.001));
+        DispatchThrottle dispatchThrottle = new DispatchThrottle(schedulerProperties);
+        JobDetail limitedJob = storeJob("job", "limited");
+        JobDetail otherJob = storeJob("job", "other");
+
+        JobExecutionContext first = context(limitedJob, repeating(limitedJob));
+        assertThat(dispatchThrottle.acquire(first.getTrigger(), first)).isEqualTo(DispatchThrottle.Decision.RUN);
+        JobExecutionContext second = context(limitedJob, repeating(limitedJob));
+        assertThat(dispatchThrottle.acquire(second.getTrigger(), second)).isEqualTo(DispatchThrottle.Decision.SKIPPED);
+
+        for (int i = 0; i < 3; i++) {
+            JobExecutionContext other = context(otherJob, repeating(otherJob));
+            assertThat(dispatchThrottle.acquire(other.getTrigger(), other)).isEqualTo(DispatchThrottle.Decision.RUN);
+        }
+    }
+
+    @Test
+    public void catchUpRunWaitsForItsToken() throws SchedulerException {
+        schedulerProperties.getDispatch().setCoalesce(true);
+        schedulerProperties.getDispatch().setMaxStartsPerSecond(1);
+        schedulerProperties.getDispatch().setBurst(1);
+        DispatchThrottle dispatchThrottle = new DispatchThrottle(schedulerProperties);
+        JobDetail job = storeJob("job", "group");
+        JobDetail otherJob = storeJob("other", "group");
+
+        JobExecutionContext running = context(job, repeating(job));
+        assertThat(dispatchThrottle.acquire(running.getTrigger(), running)).isEqualTo(DispatchThrottle.Decision.RUN);
+        JobExecutionContext overlapping = context(job, repeating(job));
+        assertThat(dispatchThrottle.acquire(overlapping.getTrigger(), overlapping)).isEqualTo(DispatchThrottle.Decision.COALESCED);
+
+        long releasedAt = System.currentTimeMillis();
+        dispatchThrottle.release(running);
+
+        Trigger catchUp = scheduler.getTriggersOfJob(job.getKey()).get(0);
+        assertThat(catchUp.getStartTime().getTime() - releasedAt).isGreaterThan(500L);
+
+        // The reserved token is paid off before anyone else gets one
+        JobExecutionContext other = context(otherJob, repeating(otherJob));
+        assertThat(dispatchThrottle.acquire(other.getTrigger(), other)).isEqualTo(DispatchThrottle.Decision.SKIPPED);
+    }
+
+    private JobDetail storeJob(String name, String group) throws SchedulerException {
+        JobDetail jobDetail = JobBuilder.newJob(QuartzSimpleJob.class).withIdentity(JobKey.jobKey(name, group)).storeDurably().build();
+        scheduler.addJob(jobDetail, false);
+        return jobDetail;
+    }
+
+    // As handed to listeners: the trigger has already moved on to its next fire time
+    private static Trigger repeating(JobDetail job) {
+        OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger()
+                .forJob(job)
+                .withSchedule(SimpleScheduleBuilder.repeatSecondlyForever())
+                .build();
+        trigger.computeFirstFireTime(null);
+        trigger.triggered(null);
+        return trigger;
+    }
+
+    private static Trigger oneShot(JobDetail job) {
+        OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger().forJob(job).build();
+        trigger.computeFirstFireTime(null);
+        trigger.triggered(null);
+        return trigger;
+    }
+
+    private JobExecutionContext context(JobDetail job, Trigger trigger) {
+        TriggerFiredBundle bundle = new TriggerFiredBundle(job, (OperableTrigger) trigger, null, false, new Date(), new Date(), null, null);
+        return new JobExecutionContextImpl(scheduler, bundle, null);
+    }
+
+}
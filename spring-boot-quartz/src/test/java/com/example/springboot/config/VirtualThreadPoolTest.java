@@ -0,0 +1,160 @@
+package com.example.springboot.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.Trigger;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class VirtualThreadPoolTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private VirtualThreadPool pool;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        if (pool != null) {
+            pool.shutdown(true);
+        }
+    }
+
+    @Test
+    public void freeWorkersGoToLanesByWeight() throws Exception {
+        pool = pool(3, 20);
+        pool.setLaneWeights("heavy=2,light=1");
+        pool.initialize();
+
+        CountDownLatch gate = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            run("gate", gate);
+        }
+        for (int i = 0; i < 6; i++) {
+            run("heavy", release);
+            run("light", release);
+        }
+        assertThat(pool.getLaneStats("heavy").getRunning()).isZero();
+
+        gate.countDown();
+        await(() -> pool.getLaneStats("gate").getRunning() == 0 && pool.getRunningCount() == 3);
+
+        assertThat(pool.getLaneStats("heavy").getRunning()).isEqualTo(2);
+        assertThat(pool.getLaneStats("light").getRunning()).isEqualTo(1);
+    }
+
+    @Test
+    public void cappedLaneBacklogDoesNotBlockOtherLanes() throws Exception {
+        pool = pool(4, 2);
+        pool.setLaneConcurrencyLimits("capped=1");
+        pool.initialize();
+
+        for (int i = 0; i < 3; i++) {
+            run("capped", release);
+        }
+        assertThat(pool.getLaneStats("capped").getRunning()).isEqualTo(1);
+        assertThat(pool.getLaneStats("capped").getQueued()).isEqualTo(2);
+
+        int available = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> pool.blockForAvailableThreads());
+        assertThat(available).isEqualTo(5);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < 3; i++) {
+                run("other", release);
+            }
+        });
+        assertThat(pool.getLaneStats("other").getRunning()).isEqualTo(3);
+        assertThat(pool.getLaneStats("capped").getRunning()).isEqualTo(1);
+    }
+
+    @Test
+    public void cappedLaneBacklogIsBoundedByQueueCapacity() throws Exception {
+        pool = pool(4, 2);
+        pool.setLaneConcurrencyLimits("capped=1");
+        pool.initialize();
+
+        for (int i = 0; i < 3; i++) {
+            run("capped", release);
+        }
+        Thread blocked = new Thread(() -> run("capped", release));
+        blocked.start();
+        await(() -> blocked.getState() == Thread.State.TIMED_WAITING);
+        assertThat(pool.getLaneStats("capped").getQueued()).isEqualTo(2);
+
+        release.countDown();
+        blocked.join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(blocked.isAlive()).isFalse();
+    }
+
+    @Test
+    public void shutdownWaitsForQueuedJobs() throws Exception {
+        pool = pool(1, 10);
+        pool.initialize();
+
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            pool.runInLane("lane", Trigger.DEFAULT_PRIORITY, completed::incrementAndGet);
+        }
+        pool.shutdown(true);
+
+        assertThat(completed.get()).isEqualTo(5);
+        assertThat(pool.runInLane("lane", Trigger.DEFAULT_PRIORITY, completed::incrementAndGet)).isFalse();
+        assertThat(pool.getQueuedCount()).isZero();
+    }
+
+    @Test
+    public void shutdownWithoutWaitingDiscardsQueuedJobs() throws Exception {
+        pool = pool(1, 10);
+        pool.initialize();
+
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            pool.runInLane("lane", Trigger.DEFAULT_PRIORITY, () -> {
+                await(release);
+                completed.incrementAndGet();
+            });
+        }
+        pool.shutdown(false);
+        assertThat(pool.getQueuedCount()).isZero();
+
+        release.countDown();
+        await(() -> pool.getRunningCount() == 0);
+        assertThat(completed.get()).isEqualTo(1);
+    }
+
+    private static VirtualThreadPool pool(int threadCount, int queueCapacity) {
+        VirtualThreadPool pool = new VirtualThreadPool();
+        pool.setInstanceName("test-" + System.nanoTime());
+        pool.setThreadCount(threadCount);
+        pool.setQueueCapacity(queueCapacity);
+        return pool;
+    }
+
+    private void run(String lane, CountDownLatch latch) {
+        assertThat(pool.runInLane(lane, Trigger.DEFAULT_PRIORITY, () -> await(latch))).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.example.springboot.event;
+
+import com.example.springboot.config.SchedulerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobKey;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JobEventStreamTest {
+
+    private static final JobKey JOB_KEY = JobKey.jobKey("job", "group");
+
+    private final SchedulerProperties schedulerProperties = new SchedulerProperties();
+
+    private JobEventStream stream;
+
+    @AfterEach
+    public void tearDown() {
+        if (stream != null) {
+            stream.stop();
+        }
+    }
+
+    @Test
+    public void replaysMoreEventsThanTheBufferHoldsAfterReconnect() throws Exception {
+        schedulerProperties.getEventStream().setBufferSize(4);
+        schedulerProperties.getEventStream().setReplayCapacity(64);
+        start();
+
+        RecordingEmitter live = subscribe(null);
+        for (int i = 1; i <= 20; i++) {
+            publish();
+            int sent = i;
+            await(() -> live.ids().size() == sent);
+        }
+
+        RecordingEmitter resumed = subscribe(5L);
+        await(() -> resumed.ids().size() == 15);
+        publish();
+        await(() -> resumed.ids().size() == 16);
+
+        assertThat(resumed.names()).doesNotContain("reset", "overflow");
+        assertThat(resumed.ids()).isEqualTo(LongStream.rangeClosed(6, 21).boxed().collect(Collectors.toList()));
+        assertThat(stream.getSubscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void resetsWhenTheReplayRingHasMovedOn() throws Exception {
+        schedulerProperties.getEventStream().setReplayCapacity(8);
+        start();
+
+        RecordingEmitter live = subscribe(null);
+        for (int i = 0; i < 20; i++) {
+            publish();
+        }
+        await(() -> live.ids().size() == 20);
+
+        RecordingEmitter resumed = subscribe(2L);
+        await(() -> resumed.ids().size() == 8);
+
+        assertThat(resumed.names().get(0)).isEqualTo("reset");
+        assertThat(resumed.ids()).isEqualTo(LongStream.rangeClosed(13, 20).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void replaysEventsPublishedWhileNobodyWasSubscribed() throws Exception {
+        start();
+        // A lone client saw event 1, then lost its connection while 2 and 3 were published
+        for (int i = 0; i < 3; i++) {
+            publish();
+        }
+
+        RecordingEmitter resumed = subscribe(1L);
+        await(() -> stream.getSubscriberCount() == 1);
+        publish();
+        await(() -> resumed.ids().size() == 3);
+
+        assertThat(resumed.names()).containsExactly("FIRED", "FIRED", "FIRED");
+        assertThat(resumed.ids()).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    public void disconnectsSubscriberWhoseBufferOverflows() throws Exception {
+        schedulerProperties.getEventStream().setBufferSize(2);
+        start();
+
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingEmitter slow = subscribe(null, gate);
+        publish();
+        await(() -> slow.sending);
+        for (int i = 0; i < 9; i++) {
+            publish();
+        }
+        gate.countDown();
+        await(() -> slow.completed);
+
+        assertThat(slow.names()).containsExactly("FIRED", "FIRED", "FIRED", "overflow");
+        assertThat(stream.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    public void dropsOldestEventsWhenConfiguredTo() throws Exception {
+        schedulerProperties.getEventStream().setBufferSize(2);
+        schedulerProperties.getEventStream().setOverflowPolicy(SchedulerProperties.EventStream.OverflowPolicy.DROP_OLDEST);
+        start();
+
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingEmitter slow = subscribe(null, gate);
+        publish();
+        await(() -> slow.sending);
+        for (int i = 0; i < 9; i++) {
+            publish();
+        }
+        gate.countDown();
+        await(() -> slow.ids().size() == 3);
+
+        assertThat(slow.names()).containsExactly("FIRED", "dropped", "FIRED", "FIRED");
+        assertThat(slow.ids()).containsExactly(1L, 9L, 10L);
+        assertThat(stream.getSubscriberCount()).isEqualTo(1);
+    }
+
+    private void start() {
+        stream = new JobEventStream(schedulerProperties);
+        stream.start();
+    }
+
+    private void publish() {
+        stream.publish(JobEventType.FIRED, JOB_KEY, 0, null);
+    }
+
+    private RecordingEmitter subscribe(Long lastEventId) {
+        return subscribe(lastEventId, null);
+    }
+
+    private RecordingEmitter subscribe(Long lastEventId, CountDownLatch gate) {
+        RecordingEmitter emitter = new RecordingEmitter(gate);
+        stream.subscribe(lastEventId, emitter);
+        return emitter;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Keeps the SSE frames instead of writing them; the first send waits for the gate, if any.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private static final Pattern ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+        private static final Pattern NAME = Pattern.compile("^event:(\\S+)$", Pattern.MULTILINE);
+
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch gate;
+
+        private volatile boolean sending;
+
+        private volatile boolean completed;
+
+        private RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending = true;
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            frames.add(builder.build().stream()
+                    .map(part -> part.getData() instanceof String ? (String) part.getData() : "")
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        private List<Long> ids() {
+            return frames.stream()
+                    .map(ID::matcher)
+                    .filter(Matcher::find)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .collect(Collectors.toList());
+        }
+
+        private List<String> names() {
+            return frames.stream()
+                    .map(NAME::matcher)
+                    .filter(Matcher::find)
+                    .map(matcher -> matcher.group(1))
+                    .collect(Collectors.toList());
+        }
+
+    }
+
+}
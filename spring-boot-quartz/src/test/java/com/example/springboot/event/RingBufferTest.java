@@ -0,0 +1,127 @@
+package com.example.springboot.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class RingBufferTest {
+
+    @Test
+    public void roundsCapacityUpToAPowerOfTwo() {
+        assertThat(new RingBuffer<>(1).capacity()).isEqualTo(4);
+        assertThat(new RingBuffer<>(8).capacity()).isEqualTo(8);
+        assertThat(new RingBuffer<>(9).capacity()).isEqualTo(16);
+        assertThat(new RingBuffer<>(1000).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    public void rejectsOffersWhenFullUntilPolled() {
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(4);
+        assertThat(ringBuffer.poll()).isNull();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(ringBuffer.offer(i)).isTrue();
+        }
+        assertThat(ringBuffer.offer(4)).isFalse();
+
+        assertThat(ringBuffer.poll()).isEqualTo(0);
+        assertThat(ringBuffer.offer(4)).isTrue();
+        assertThat(ringBuffer.offer(5)).isFalse();
+    }
+
+    @Test
+    public void keepsOrderAcrossManyWraps() {
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(4);
+        int next = 0;
+        for (int i = 0; i < 1000; i++) {
+            assertThat(ringBuffer.offer(i)).isTrue();
+            if (i % 3 == 2) {
+                Integer element;
+                while ((element = ringBuffer.poll()) != null) {
+                    assertThat(element).isEqualTo(next++);
+                }
+            }
+        }
+        Integer element;
+        while ((element = ringBuffer.poll()) != null) {
+            assertThat(element).isEqualTo(next++);
+        }
+        assertThat(next).isEqualTo(1000);
+    }
+
+    @Test
+    public void drainStopsAtTheLimit() {
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(8);
+        for (int i = 0; i < 6; i++) {
+            ringBuffer.offer(i);
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(ringBuffer.drain(drained::add, 4)).isEqualTo(4);
+        assertThat(drained).containsExactly(0, 1, 2, 3);
+        assertThat(ringBuffer.drain(drained::add, 4)).isEqualTo(2);
+        assertThat(ringBuffer.drain(drained::add, 4)).isZero();
+    }
+
+    @Test
+    public void deliversEveryElementOfConcurrentProducersInTheirOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        RingBuffer<long[]> ringBuffer = new RingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean outOfOrder = new AtomicBoolean();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!ringBuffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+
+        long[] expected = new long[producers];
+        start.countDown();
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            long received = 0;
+            while (received < (long) producers * perProducer) {
+                long[] element = ringBuffer.poll();
+                if (element == null) {
+                    Thread.yield();
+                    continue;
+                }
+                if (element[1] != expected[(int) element[0]]++) {
+                    outOfOrder.set(true);
+                }
+                received++;
+            }
+        });
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(outOfOrder.get()).isFalse();
+        assertThat(ringBuffer.poll()).isNull();
+        for (long count : expected) {
+            assertThat(count).isEqualTo((long) perProducer);
+        }
+    }
+
+}
@@ -0,0 +1,466 @@
+package com.example.springboot.load;
+
+import com.example.springboot.job.QuartzSimpleJob;
+import com.example.springboot.metrics.LagHistogram;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Open-loop load generator for the scheduler REST API. Requests of a weighted create/list/pause/resume/delete
+ * mix are started at a fixed rate, at most {@code load.concurrency} at a time, and their latency is measured
+ * from the moment they were due, so a slow server shows up as latency instead of a lower request rate.
+ * Fire lag, misfires and vetoes of the generated jobs are read from the event stream, which is resumed
+ * after a disconnect; disconnects, resets and lost events are reported with the totals. Every reporting
+ * interval and the totals are printed and written as CSV to {@code load.output}. Start the application,
+ * then run:
+ * <pre>
+ * mvn -Pload test -Dload.url=http://localhost:8080 -Dload.rate=200 -Dload.duration=120 -Dload.label=baseline
+ * </pre>
+ * The generated jobs live in their own group, which is deleted at the end of the run.
+ */
+public class SchedulerLoadGenerator {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String[] CRON_EXPRESSIONS = {"0/5 * * * * ?", "0/15 * * * * ?", "0 * * * * ?"};
+
+    private final URI baseUri = URI.create(System.getProperty("load.url", "http://localhost:8080"));
+
+    private final String label = System.getProperty("load.label", "default");
+
+    private final int rate = Integer.getInteger("load.rate", 100);
+
+    private final int concurrency = Integer.getInteger("load.concurrency", 32);
+
+    private final Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 60));
+
+    private final Duration interval = Duration.ofSeconds(Long.getLong("load.interval", 5));
+
+    private final Map<Operation, Integer> mix = parseMix(System.getProperty("load.mix", "create=30,list=30,pause=15,resume=15,delete=10"));
+
+    private final double cronRatio = Double.parseDouble(System.getProperty("load.cron-ratio", "0.5"));
+
+    private final int simpleInterval = Integer.getInteger("load.simple-interval", 10);
+
+    private final Path output = Paths.get(System.getProperty("load.output",
+            "target/scheduler-load-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv"));
+
+    private final String group = "load-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final List<String> jobs = new ArrayList<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicReference<Stats> current = new AtomicReference<>(new Stats());
+
+    private final Stats total = new Stats();
+
+    private volatile boolean finished;
+
+    public static void main(String[] args) throws Exception {
+        new SchedulerLoadGenerator().run();
+    }
+
+    private void run() throws Exception {
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(output));
+             ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            writer.printf("# label=%s url=%s rate=%d concurrency=%d duration=%ds mix=%s cron-ratio=%s simple-interval=%ds%n",
+                    label, baseUri, rate, concurrency, duration.getSeconds(), mix, cronRatio, simpleInterval);
+            writer.println("label,elapsed_s,operation,requests,errors,error_rate,throughput,p50_ms,p90_ms,p99_ms,max_ms,disconnects,resets");
+            System.out.printf("Writing %s, jobs in group %s%n", output, group);
+            System.out.printf("%8s %-10s %9s %7s %9s %9s %9s %9s%n", "elapsed", "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+
+            Thread.ofVirtual().name("load-events").start(this::readEvents);
+
+            Semaphore permits = new Semaphore(concurrency);
+            long start = System.nanoTime();
+            long period = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate);
+            long deadline = start + duration.toNanos();
+            long lastReport = start;
+            long due = start;
+
+            while (due < deadline) {
+                long now = System.nanoTime();
+                if (now - lastReport >= interval.toNanos()) {
+                    report(writer, current.getAndSet(new Stats()), now - start, now - lastReport);
+                    lastReport = now;
+                }
+                if (due > now) {
+                    LockSupport.parkNanos(due - now);
+                    continue;
+                }
+
+                long scheduledAt = due;
+                due += period;
+                permits.acquire();
+                workers.execute(() -> {
+                    try {
+                        execute(nextOperation(), scheduledAt);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+
+            permits.acquire(concurrency);
+            long end = System.nanoTime();
+            report(writer, current.getAndSet(new Stats()), end - start, end - lastReport);
+            report(writer, total, -1, end - start);
+            finished = true;
+            cleanUp();
+            workers.shutdownNow();
+        }
+    }
+
+    private void execute(Operation operation, long scheduledAt) {
+        String name = pickJob(operation);
+        if (name == null) {
+            operation = Operation.CREATE;
+            name = "job-" + sequence.incrementAndGet();
+        }
+
+        boolean failed;
+        try {
+            HttpResponse<Void> response = client.send(request(operation, name), HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        long latency = System.nanoTime() - scheduledAt;
+        current.get().record(operation, latency, failed);
+        total.record(operation, latency, failed);
+
+        if (!failed && operation == Operation.CREATE) {
+            synchronized (jobs) {
+                jobs.add(name);
+            }
+        }
+    }
+
+    private String pickJob(Operation operation) {
+        if (operation == Operation.CREATE) {
+            return "job-" + sequence.incrementAndGet();
+        }
+        if (operation == Operation.LIST) {
+            return "";
+        }
+
+        synchronized (jobs) {
+            if (jobs.isEmpty()) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(jobs.size());
+            if (operation != Operation.DELETE) {
+                return jobs.get(index);
+            }
+            // Swap-remove, the order of the list does not matter
+            String name = jobs.get(index);
+            jobs.set(index, jobs.get(jobs.size() - 1));
+            jobs.remove(jobs.size() - 1);
+            return name;
+        }
+    }
+
+    private HttpRequest request(Operation operation, String name) {
+        String job = "?name=" + encode(name) + "&group=" + encode(group);
+        switch (operation) {
+            case CREATE:
+                return HttpRequest.newBuilder(baseUri.resolve("/scheduler/job"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(jobDefinition(name)))
+                        .build();
+            case LIST:
+                return HttpRequest.newBuilder(baseUri.resolve("/scheduler/jobs?group=" + encode(group))).GET().build();
+            case PAUSE:
+                return HttpRequest.newBuilder(baseUri.resolve("/scheduler/job/pause" + job)).PUT(HttpRequest.BodyPublishers.noBody()).build();
+            case RESUME:
+                return HttpRequest.newBuilder(baseUri.resolve("/scheduler/job/resume" + job)).PUT(HttpRequest.BodyPublishers.noBody()).build();
+            default:
+                return HttpRequest.newBuilder(baseUri.resolve("/scheduler/job" + job)).DELETE().build();
+        }
+    }
+
+    private String jobDefinition(String name) {
+        ObjectNode job = OBJECT_MAPPER.createObjectNode()
+                .put("name", name)
+                .put("group", group)
+                .put("jobClass", QuartzSimpleJob.class.getName());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < cronRatio) {
+            job.put("cronExpression", CRON_EXPRESSIONS[random.nextInt(CRON_EXPRESSIONS.length)]);
+        } else {
+            job.put("intervalInSeconds", simpleInterval);
+        }
+        return job.toString();
+    }
+
+    private Operation nextOperation() {
+        int weights = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = ThreadLocalRandom.current().nextInt(weights);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.LIST;
+    }
+
+    /**
+     * Reads the event stream until the run ends, reconnecting with {@code Last-Event-ID} whenever it breaks.
+     * Every disconnect, every {@code reset} and every skipped event id is counted, so a run whose fire lag
+     * is missing events says so in its report instead of looking healthier than it was.
+     */
+    private void readEvents() {
+        long[] lastEventId = {-1};
+        boolean reconnect = false;
+        while (!finished) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve("/scheduler/events"))
+                    .header("Accept", "text/event-stream")
+                    .GET();
+            if (lastEventId[0] >= 0) {
+                request.header("Last-Event-ID", Long.toString(lastEventId[0]));
+            }
+            try {
+                HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+                if (response.statusCode() != 200) {
+                    throw new IOException("HTTP " + response.statusCode());
+                }
+                String[] frame = {null, null, null};
+                response.body().forEach(line -> {
+                    if (line.startsWith("id:")) {
+                        frame[0] = line.substring(3).trim();
+                    } else if (line.startsWith("event:")) {
+                        frame[1] = line.substring(6).trim();
+                    } else if (line.startsWith("data:")) {
+                        frame[2] = line.substring(5).trim();
+                    } else if (line.isEmpty()) {
+                        onFrame(frame[0], frame[1], frame[2], lastEventId);
+                        Arrays.fill(frame, null);
+                    }
+                });
+                if (!finished) {
+                    System.out.printf("Event stream closed by the server, reconnecting after event %d%n", lastEventId[0]);
+                }
+            } catch (IOException e) {
+                if (!reconnect) {
+                    System.out.printf("Event stream unavailable, retrying: %s%n", e.getMessage());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (!finished) {
+                current.get().disconnects.incrementAndGet();
+                total.disconnects.incrementAndGet();
+                reconnect = true;
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void onFrame(String id, String type, String data, long[] lastEventId) {
+        if (id != null) {
+            long eventId = Long.parseLong(id);
+            // Ids are global to the server, so any jump is an event this client never saw
+            long gap = lastEventId[0] < 0 ? 0 : eventId - lastEventId[0] - 1;
+            if (gap > 0) {
+                current.get().lostEvents.addAndGet(gap);
+                total.lostEvents.addAndGet(gap);
+            }
+            lastEventId[0] = eventId;
+            current.get().events.incrementAndGet();
+            total.events.incrementAndGet();
+        }
+        if ("reset".equals(type)) {
+            current.get().resets.incrementAndGet();
+            total.resets.incrementAndGet();
+        } else if (type != null && data != null) {
+            onEvent(type, data);
+        }
+    }
+
+    private void onEvent(String type, String data) {
+        JsonNode event;
+        try {
+            event = OBJECT_MAPPER.readTree(data);
+        } catch (IOException e) {
+            return;
+        }
+        if (!group.equals(event.path("group").asText())) {
+            return;
+        }
+
+        if ("FIRED".equals(type)) {
+            current.get().fireLag.record(event.path("value").asLong());
+            total.fireLag.record(event.path("value").asLong());
+        } else if ("MISFIRED".equals(type)) {
+            current.get().misfires.incrementAndGet();
+            total.misfires.incrementAndGet();
+        } else if ("VETOED".equals(type)) {
+            current.get().vetoes.incrementAndGet();
+            total.vetoes.incrementAndGet();
+        }
+    }
+
+    private void report(PrintWriter writer, Stats stats, long elapsedNanos, long windowNanos) {
+        String elapsed = elapsedNanos < 0 ? "total" : Long.toString(TimeUnit.NANOSECONDS.toSeconds(elapsedNanos));
+        double seconds = windowNanos / 1e9;
+        for (Operation operation : Operation.values()) {
+            LagHistogram latency = stats.latencies.get(operation);
+            long requests = latency.getCount();
+            long errors = stats.errors.get(operation).get();
+            System.out.printf("%8s %-10s %9d %7d %9.1f %9.2f %9.2f %9.2f%n", elapsed, operation.label, requests, errors,
+                    requests / seconds, millis(latency, 50), millis(latency, 99), millis(latency, 100));
+            writer.printf("%s,%s,%s,%d,%d,%.4f,%.1f,%.2f,%.2f,%.2f,%.2f,,%n", label, elapsed, operation.label, requests, errors,
+                    requests == 0 ? 0 : (double) errors / requests, requests / seconds,
+                    millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 100));
+        }
+
+        // For fire lag the request count is the number of fires, and the errors are misfires plus vetoes
+        LagHistogram fireLag = stats.fireLag;
+        long problems = stats.misfires.get() + stats.vetoes.get();
+        System.out.printf("%8s %-10s %9d %7d %9.1f %9d %9d %9d%n", elapsed, "fire-lag", fireLag.getCount(), problems,
+                fireLag.getCount() / seconds, fireLag.getValueAtPercentile(50), fireLag.getValueAtPercentile(99), fireLag.getMax());
+        writer.printf("%s,%s,fire-lag,%d,%d,%.4f,%.1f,%d,%d,%d,%d,,%n", label, elapsed, fireLag.getCount(), problems,
+                fireLag.getCount() == 0 ? 0 : (double) problems / fireLag.getCount(), fireLag.getCount() / seconds,
+                fireLag.getValueAtPercentile(50), fireLag.getValueAtPercentile(90), fireLag.getValueAtPercentile(99), fireLag.getMax());
+
+        // For the event stream the requests are the events received and the errors are the event ids skipped
+        long events = stats.events.get();
+        long lost = stats.lostEvents.get();
+        System.out.printf("%8s %-10s %9d %7d %9.1f   %d disconnects, %d resets%n", elapsed, "events", events, lost,
+                events / seconds, stats.disconnects.get(), stats.resets.get());
+        writer.printf("%s,%s,events,%d,%d,%.4f,%.1f,,,,,%d,%d%n", label, elapsed, events, lost,
+                events + lost == 0 ? 0 : (double) lost / (events + lost), events / seconds, stats.disconnects.get(), stats.resets.get());
+        writer.flush();
+    }
+
+    private static double millis(LagHistogram latency, double percentile) {
+        if (latency.getCount() == 0) {
+            return Double.NaN;
+        }
+        long micros = percentile >= 100 ? latency.getMax() : latency.getValueAtPercentile(percentile);
+        return micros / 1000.0;
+    }
+
+    private void cleanUp() {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/scheduler/jobs?group=" + encode(group))).DELETE().build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            System.out.printf("Deleted group %s: %s%n", group, response.body());
+        } catch (IOException e) {
+            System.out.printf("Could not delete group %s: %s%n", group, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected operation=weight but got: " + entry);
+            }
+            mix.put(Operation.valueOf(entry.substring(0, eq).trim().toUpperCase()), Integer.parseInt(entry.substring(eq + 1).trim()));
+        }
+        return mix;
+    }
+
+    private enum Operation {
+
+        CREATE("create"),
+        LIST("list"),
+        PAUSE("pause"),
+        RESUME("resume"),
+        DELETE("delete");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+    }
+
+    private static final class Stats {
+
+        // Request latencies in microseconds, fire lag in milliseconds as published on the event stream
+        private final Map<Operation, LagHistogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+        private final LagHistogram fireLag = new LagHistogram(5);
+        private final AtomicLong misfires = new AtomicLong();
+        private final AtomicLong vetoes = new AtomicLong();
+        private final AtomicLong events = new AtomicLong();
+        private final AtomicLong lostEvents = new AtomicLong();
+        private final AtomicLong disconnects = new AtomicLong();
+        private final AtomicLong resets = new AtomicLong();
+
+        Stats() {
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new LagHistogram(5));
+                errors.put(operation, new AtomicLong());
+            }
+        }
+
+        void record(Operation operation, long latencyNanos, boolean failed) {
+            latencies.get(operation).record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            if (failed) {
+                errors.get(operation).incrementAndGet();
+            }
+        }
+    }
+
+}
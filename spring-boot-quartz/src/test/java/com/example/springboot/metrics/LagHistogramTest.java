@@ -0,0 +1,88 @@
+package com.example.springboot.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LagHistogramTest {
+
+    @Test
+    public void valuesBelowTheSubBucketCountAreExact() {
+        LagHistogram histogram = new LagHistogram(3);
+        for (int value = 0; value < 8; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(8L);
+        assertThat(histogram.getValueAtPercentile(0)).isEqualTo(0L);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(3L);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(7L);
+        assertThat(histogram.getMean()).isEqualTo(3.5);
+    }
+
+    @Test
+    public void percentileIsTheTopOfItsBucket() {
+        LagHistogram histogram = new LagHistogram(3);
+        // With 8 sub-buckets, 96..103 share a bucket
+        histogram.record(96);
+        histogram.record(1000);
+
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(103L);
+        // The top bucket is capped at the recorded maximum
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(1000L);
+        assertThat(histogram.getMax()).isEqualTo(1000L);
+    }
+
+    @Test
+    public void everyValueFallsInABucketThatCoversIt() {
+        long previousTop = 0;
+        for (long value = 0; value < 4096; value++) {
+            // The maximum is recorded separately, so the median is the top of the bucket holding the value
+            LagHistogram histogram = new LagHistogram(2);
+            histogram.record(value);
+            histogram.record(1L << 20);
+            long top = histogram.getValueAtPercentile(50);
+
+            assertThat(top).isGreaterThanOrEqualTo(value);
+            assertThat(top - value).isLessThanOrEqualTo(value / 4);
+            assertThat(top).isGreaterThanOrEqualTo(previousTop);
+            previousTop = top;
+        }
+    }
+
+    @Test
+    public void percentilesStayWithinThePrecision() {
+        int precisionBits = 5;
+        LagHistogram histogram = new LagHistogram(precisionBits);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ThreadLocalRandom.current().nextLong(1, 10_000_000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.getValueAtPercentile(percentile);
+            assertThat(reported).isGreaterThanOrEqualTo(exact);
+            assertThat((double) (reported - exact) / exact).isLessThan(1.0 / (1 << precisionBits));
+        }
+    }
+
+    @Test
+    public void clampsNegativeAndHugeValues() {
+        LagHistogram histogram = new LagHistogram(3);
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(1L << 40);
+
+        assertThat(histogram.getValueAtPercentile(0)).isEqualTo(0L);
+        assertThat(histogram.getMax()).isEqualTo((1L << 36) - 1);
+        // Both huge values share the top bucket
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo((1L << 36) - 1);
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.example.springboot.service;
+
+import com.example.springboot.config.SchedulerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobKey;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JobExecutionHistoryTest {
+
+    private static final JobKey FIRST = JobKey.jobKey("first", "group");
+
+    private static final JobKey SECOND = JobKey.jobKey("second", "group");
+
+    private static final JobKey THIRD = JobKey.jobKey("third", "group");
+
+    private final SchedulerProperties schedulerProperties = new SchedulerProperties();
+
+    private Path file;
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void keepsTheNewestRecordsOfEachJob() throws IOException {
+        schedulerProperties.getHistory().setPerJob(3);
+        JobExecutionHistory history = new JobExecutionHistory(schedulerProperties);
+
+        for (int i = 1; i <= 5; i++) {
+            history.record(FIRST, i * 1000L, i, JobExecutionHistory.Outcome.SUCCESS, null);
+        }
+        history.record(SECOND, 1000L, 7, JobExecutionHistory.Outcome.FAILED, "java.lang.IllegalStateException");
+
+        assertThat(starts(history.history(FIRST, 10))).containsExactly(5000L, 4000L, 3000L);
+        assertThat(starts(history.history(FIRST, 2))).containsExactly(5000L, 4000L);
+        assertThat(history.history(THIRD, 10)).isEmpty();
+
+        JobExecutionHistory.Execution failed = history.history(SECOND, 1).get(0);
+        assertThat(failed.getOutcome()).isEqualTo(JobExecutionHistory.Outcome.FAILED);
+        assertThat(failed.getDuration()).isEqualTo(7L);
+        assertThat(failed.getException()).isEqualTo("java.lang.IllegalStateException");
+    }
+
+    @Test
+    public void keepsTheEndOfLongExceptionNames() throws IOException {
+        JobExecutionHistory history = new JobExecutionHistory(schedulerProperties);
+        String exception = "org.example.some.very.deeply.nested.package.name.JobWentWrongException";
+
+        history.record(FIRST, 0, 0, JobExecutionHistory.Outcome.FAILED, exception);
+
+        String stored = history.history(FIRST, 1).get(0).getException();
+        assertThat(stored.length()).isEqualTo(46);
+        assertThat(exception.endsWith(stored)).isTrue();
+    }
+
+    @Test
+    public void cutsLongExceptionNamesOnACharacterBoundary() throws IOException {
+        JobExecutionHistory history = new JobExecutionHistory(schedulerProperties);
+        String exception = "org.example.\u00e4\u00f6\u00fc\u00e4\u00f6\u00fc\u00e4\u00f6\u00fc\u00e4\u00f6\u00fc\u00e4\u00f6\u00fc\u00e4\u00f6\u00fc.J\u00f6bFailedExceptions";
+
+        history.record(FIRST, 0, 0, JobExecutionHistory.Outcome.FAILED, exception);
+
+        String stored = history.history(FIRST, 1).get(0).getException();
+        assertThat(exception.endsWith(stored)).isTrue();
+        assertThat(stored.getBytes(StandardCharsets.UTF_8).length).isEqualTo(45);
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyWrittenJobEvenIfItWasRead() throws IOException {
+        twoSlots();
+        JobExecutionHistory history = new JobExecutionHistory(schedulerProperties);
+
+        history.record(FIRST, 1000L, 1, JobExecutionHistory.Outcome.SUCCESS, null);
+        history.record(SECOND, 2000L, 1, JobExecutionHistory.Outcome.SUCCESS, null);
+        history.history(FIRST, 10);
+        history.record(THIRD, 3000L, 1, JobExecutionHistory.Outcome.SUCCESS, null);
+
+        assertThat(history.history(FIRST, 10)).isEmpty();
+        assertThat(starts(history.history(SECOND, 10))).containsExactly(2000L);
+        assertThat(starts(history.history(THIRD, 10))).containsExactly(3000L);
+
+        // Writing again makes a job the most recent one
+        history.record(SECOND, 4000L, 1, JobExecutionHistory.Outcome.SUCCESS, null);
+        history.record(FIRST, 5000L, 1, JobExecutionHistory.Outcome.SUCCESS, null);
+        assertThat(history.history(THIRD, 10)).isEmpty();
+        assertThat(starts(history.history(SECOND, 10))).containsExactly(4000L, 2000L);
+    }
+
+    @Test
+    public void restoresAMappedFile() throws IOException {
+        mapped();
+        twoSlots();
+        JobExecutionHistory history = new JobExecutionHistory(schedulerProperties);
+        history.record(FIRST, 1000L, 10, JobExecutionHistory.Outcome.SUCCESS, null);
+        history.record(FIRST, 2000L, 20, JobExecutionHistory.Outcome.INTERRUPTED, "java.lang.InterruptedException");
+        history.destroy();
+
+        JobExecutionHistory restored = new JobExecutionHistory(schedulerProperties);
+        List<JobExecutionHistory.Execution> executions = restored.history(FIRST, 10);
+        restored.destroy();
+
+        assertThat(starts(executions)).containsExactly(2000L, 1000L);
+        assertThat(executions.get(0).getOutcome()).isEqualTo(JobExecutionHistory.Outcome.INTERRUPTED);
+        assertThat(executions.get(0).getException()).isEqualTo("java.lang.InterruptedException");
+    }
+
+    @Test
+    public void discardsCorruptSlotsOnRestore() throws IOException {
+        mapped();
+        twoSlots();
+        JobExecutionHistory history = new JobExecutionHistory(schedulerProperties);
+        history.record(FIRST, 1000L, 1, JobExecutionHistory.Outcome.SUCCESS, null);
+        history.record(SECOND, 2000L, 1, JobExecutionHistory.Outcome.SUCCESS, null);
+        history.destroy();
+
+        // Slot 0 holds the first job; break its outcome byte, then the exception length of the second job
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(64 + 256 + 16);
+            raw.write(42);
+            raw.seek(64 + 384 + 256 + 17);
+            raw.write(100);
+        }
+
+        JobExecutionHistory restored = new JobExecutionHistory(schedulerProperties);
+        assertThat(restored.history(FIRST, 10)).isEmpty();
+        assertThat(restored.history(SECOND, 10)).isEmpty();
+
+        // The discarded slots are free again
+        restored.record(THIRD, 3000L, 1, JobExecutionHistory.Outcome.SUCCESS, null);
+        restored.record(FIRST, 4000L, 1, JobExecutionHistory.Outcome.SUCCESS, null);
+        assertThat(starts(restored.history(THIRD, 10))).containsExactly(3000L);
+        assertThat(starts(restored.history(FIRST, 10))).containsExactly(4000L);
+        restored.destroy();
+    }
+
+    private void twoSlots() {
+        // File header plus two slots of a 256 byte header and two 64 byte records
+        schedulerProperties.getHistory().setPerJob(2);
+        schedulerProperties.getHistory().setMaxMemory(DataSize.ofBytes(64 + 2 * 384));
+    }
+
+    private void mapped() throws IOException {
+        file = Files.createTempFile("job-history", ".bin");
+        schedulerProperties.getHistory().setStorage(SchedulerProperties.History.Storage.MAPPED);
+        schedulerProperties.getHistory().setFile(file.toString());
+    }
+
+    private static List<Long> starts(List<JobExecutionHistory.Execution> executions) {
+        return executions.stream().map(JobExecutionHistory.Execution::getStart).collect(Collectors.toList());
+    }
+
+}
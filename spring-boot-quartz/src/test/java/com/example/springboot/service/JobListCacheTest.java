@@ -0,0 +1,162 @@
+package com.example.springboot.service;
+
+import com.example.springboot.config.SchedulerProperties;
+import com.example.springboot.dto.QuartzJobFilter;
+import com.example.springboot.dto.QuartzJobResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JobListCacheTest {
+
+    private final SchedulerProperties schedulerProperties = new SchedulerProperties();
+
+    private final RecordingLoader loader = new RecordingLoader();
+
+    private JobListCache jobListCache;
+
+    @BeforeEach
+    public void setUp() {
+        schedulerProperties.getJobCache().setMaxStaleness(Duration.ZERO);
+        jobListCache = new JobListCache(schedulerProperties);
+        loader.put("a", "group", "SCHEDULED");
+        loader.put("b", "group", "SCHEDULED");
+        loader.put("c", "other", "PAUSED");
+    }
+
+    @Test
+    public void servesTheSnapshotUntilSomethingChanges() throws SchedulerException {
+        JobListCache.Snapshot first = jobListCache.get(loader);
+        JobListCache.Snapshot second = jobListCache.get(loader);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loader.loadAllCalls).isEqualTo(1);
+        assertThat(names(first)).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    public void reloadsOnlyTheStaleJob() throws SchedulerException {
+        jobListCache.get(loader);
+        loader.put("b", "group", "PAUSED");
+        jobListCache.markStale(JobKey.jobKey("b", "group"));
+
+        JobListCache.Snapshot snapshot = jobListCache.get(loader);
+
+        assertThat(loader.loadAllCalls).isEqualTo(1);
+        assertThat(loader.loaded).containsExactly(JobKey.jobKey("b", "group"));
+        assertThat(statuses(snapshot)).containsExactly("SCHEDULED", "PAUSED", "PAUSED");
+    }
+
+    @Test
+    public void dropsAStaleJobThatNoLongerExists() throws SchedulerException {
+        jobListCache.get(loader);
+        loader.jobs.remove(JobKey.jobKey("a", "group"));
+        jobListCache.markStale(JobKey.jobKey("a", "group"));
+
+        assertThat(names(jobListCache.get(loader))).containsExactly("b", "c");
+    }
+
+    @Test
+    public void rebuildsWhenMarkedAllStaleOrTooManyJobsAreStale() throws SchedulerException {
+        schedulerProperties.getJobCache().setMaxIncrementalRefresh(1);
+        jobListCache.get(loader);
+
+        jobListCache.markAllStale();
+        jobListCache.get(loader);
+        assertThat(loader.loadAllCalls).isEqualTo(2);
+
+        jobListCache.markStale(JobKey.jobKey("a", "group"));
+        jobListCache.markStale(JobKey.jobKey("b", "group"));
+        jobListCache.get(loader);
+        assertThat(loader.loadAllCalls).isEqualTo(3);
+        assertThat(loader.loaded).isEmpty();
+    }
+
+    @Test
+    public void keepsTheEtagWhileTheContentIsUnchanged() throws SchedulerException {
+        String etag = jobListCache.get(loader).getEtag();
+
+        jobListCache.markAllStale();
+        assertThat(jobListCache.get(loader).getEtag()).isEqualTo(etag);
+        jobListCache.markStale(JobKey.jobKey("a", "group"));
+        assertThat(jobListCache.get(loader).getEtag()).isEqualTo(etag);
+        // A second cache over the same jobs, as on another cluster node, agrees
+        assertThat(new JobListCache(schedulerProperties).get(loader).getEtag()).isEqualTo(etag);
+
+        loader.put("a", "group", "PAUSED");
+        jobListCache.markStale(JobKey.jobKey("a", "group"));
+        assertThat(jobListCache.get(loader).getEtag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    public void tracksOverlappingRuns() {
+        JobKey jobKey = JobKey.jobKey("a", "group");
+        jobListCache.jobStarted(jobKey);
+        jobListCache.jobStarted(jobKey);
+
+        jobListCache.jobFinished(jobKey);
+        assertThat(jobListCache.isRunning(jobKey)).isTrue();
+        jobListCache.jobFinished(jobKey);
+        assertThat(jobListCache.isRunning(jobKey)).isFalse();
+    }
+
+    @Test
+    public void filtersByGroupAndStatus() throws SchedulerException {
+        JobListCache.Snapshot snapshot = jobListCache.get(loader);
+
+        QuartzJobFilter filter = new QuartzJobFilter();
+        filter.setGroup("group");
+        assertThat(snapshot.getJobs(filter).stream().map(QuartzJobResponse::getName).collect(Collectors.toList()))
+                .containsExactly("a", "b");
+
+        filter = new QuartzJobFilter();
+        filter.setStatus("paused");
+        assertThat(snapshot.getJobs(filter).stream().map(QuartzJobResponse::getName).collect(Collectors.toList()))
+                .containsExactly("c");
+    }
+
+    private static List<String> names(JobListCache.Snapshot snapshot) {
+        return snapshot.getJobs(new QuartzJobFilter()).stream().map(QuartzJobResponse::getName).collect(Collectors.toList());
+    }
+
+    private static List<String> statuses(JobListCache.Snapshot snapshot) {
+        return snapshot.getJobs(new QuartzJobFilter()).stream().map(QuartzJobResponse::getStatus).collect(Collectors.toList());
+    }
+
+    private static final class RecordingLoader implements JobListCache.Loader {
+
+        private final Map<JobKey, QuartzJobResponse> jobs = new TreeMap<>();
+
+        private final List<JobKey> loaded = new ArrayList<>();
+
+        private int loadAllCalls;
+
+        private void put(String name, String group, String status) {
+            jobs.put(JobKey.jobKey(name, group), QuartzJobResponse.builder().name(name).group(group).status(status).build());
+        }
+
+        @Override
+        public List<QuartzJobResponse> loadAll() {
+            loadAllCalls++;
+            return new ArrayList<>(jobs.values());
+        }
+
+        @Override
+        public QuartzJobResponse load(JobKey jobKey) {
+            loaded.add(jobKey);
+            return jobs.get(jobKey);
+        }
+
+    }
+
+}